@@ -0,0 +1,102 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Сравнение задержки дашборда владельца: комнаты и типы комнат HOTELS отелей по одному запросу
+ * на отель (последовательно и по 6 параллельных, как браузер на один хост) против двух пакетных
+ * запросов ?hotelIds=. Запуск (Java 17): java scripts/BatchLatency.java BASE_URL HOTELS ROUNDS
+ */
+public class BatchLatency {
+
+    private static final int BROWSER_CONNECTIONS = 6;
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int hotels = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        ExecutorService browser = Executors.newFixedThreadPool(BROWSER_CONNECTIONS);
+
+        List<String> perHotel = new ArrayList<>();
+        for (long id = 1; id <= hotels; id++) {
+            perHotel.add(baseUrl + "/api/v1/rooms/hotel/" + id);
+            perHotel.add(baseUrl + "/api/v1/room-types/hotel/" + id);
+        }
+        String ids = LongStream.rangeClosed(1, hotels).mapToObj(Long::toString).collect(Collectors.joining(","));
+        List<String> batch = List.of(
+                baseUrl + "/api/v1/rooms/hotel?hotelIds=" + ids,
+                baseUrl + "/api/v1/room-types/hotel?hotelIds=" + ids);
+
+        // Прогрев JIT и кэшей приложения
+        for (int i = 0; i < 3; i++) {
+            sequential(client, perHotel);
+            sequential(client, batch);
+        }
+
+        long[] sequentialTimes = new long[rounds];
+        long[] parallelTimes = new long[rounds];
+        long[] batchTimes = new long[rounds];
+        for (int round = 0; round < rounds; round++) {
+            sequentialTimes[round] = sequential(client, perHotel);
+            parallelTimes[round] = parallel(client, browser, perHotel);
+            batchTimes[round] = sequential(client, batch);
+        }
+        browser.shutdown();
+
+        System.out.printf("hotels=%d rounds=%d%n", hotels, rounds);
+        print("per-hotel sequential", perHotel.size(), sequentialTimes);
+        print("per-hotel x" + BROWSER_CONNECTIONS + " parallel", perHotel.size(), parallelTimes);
+        print("batch", batch.size(), batchTimes);
+    }
+
+    private static long sequential(HttpClient client, List<String> urls) throws Exception {
+        long start = System.nanoTime();
+        for (String url : urls) {
+            get(client, url);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long parallel(HttpClient client, ExecutorService executor, List<String> urls) throws Exception {
+        long start = System.nanoTime();
+        List<Future<?>> results = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            results.add(executor.submit(() -> get(client, url)));
+        }
+        for (Future<?> result : results) {
+            result.get();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static Void get(HttpClient client, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).GET().build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(url + " returned " + response.statusCode());
+        }
+        return null;
+    }
+
+    private static void print(String mode, int requests, long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        System.out.printf("%-24s requests=%-4d median=%.1fms max=%.1fms%n", mode, requests,
+                sorted[sorted.length / 2] / 1_000_000.0, sorted[sorted.length - 1] / 1_000_000.0);
+    }
+}
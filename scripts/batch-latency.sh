@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Задержка загрузки дашборда владельца с HOTELS отелями: по запросу на отель против пакетных ?hotelIds=.
+# База заполняется синтетическим набором (SyntheticDataSeeder). Параметры: HOTELS (по умолчанию 200),
+# ROOMS_PER_TYPE (10), ROUNDS (10).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+HOTELS="${HOTELS:-200}"
+ROOMS_PER_TYPE="${ROOMS_PER_TYPE:-10}"
+ROUNDS="${ROUNDS:-10}"
+
+mvn -B -q -DskipTests package
+JAR="$(ls target/booking-backend-hotel-owner-*.jar | head -n 1)"
+
+java -jar "${JAR}" \
+    --booking.seed.hotels="${HOTELS}" \
+    --booking.seed.rooms-per-type="${ROOMS_PER_TYPE}" \
+    --booking.seed.bookings-per-room=1 \
+    > target/batch-latency.log 2>&1 &
+pid=$!
+trap 'kill ${pid} 2>/dev/null || true' EXIT
+
+until curl -sf http://localhost:8080/actuator/health > /dev/null; do
+    sleep 1
+done
+
+java scripts/BatchLatency.java http://localhost:8080 "${HOTELS}" "${ROUNDS}" | tee target/batch-latency.txt
@@ -0,0 +1,24 @@
+#!/usr/bin/env bash
+# Сборка профиля fast-startup и архива CDS (class data sharing) для него.
+# Jar распаковывается (java -Djarmode=tools extract): CDS работает только с классами из обычных jar на classpath.
+# Тренировочный запуск поднимает контекст, закрывает его сразу после refresh и записывает загруженные классы в архив.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+OUT=target/fast-startup
+
+# clean: AOT-классы прежней сборки без профиля fast-startup иначе остаются в target/classes
+mvn -B -q -Pfast-startup -DskipTests clean package
+JAR="$(ls target/booking-backend-hotel-owner-*.jar | head -n 1)"
+
+rm -rf "${OUT}"
+java -Djarmode=tools -jar "${JAR}" extract --destination "${OUT}"
+APP="${OUT}/$(basename "${JAR}")"
+
+JAVA_OPTS=(-Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup)
+java -XX:ArchiveClassesAtExit="${OUT}/app.jsa" -Dspring.context.exit=onRefresh "${JAVA_OPTS[@]}" -jar "${APP}" \
+    > "${OUT}/training.log" 2>&1
+
+echo "Запуск:"
+echo "java -XX:SharedArchiveFile=${OUT}/app.jsa ${JAVA_OPTS[*]} -jar ${APP}"
@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Сравнение пропускной способности чтения комнат отеля в трех режимах:
+# обычный пул потоков Tomcat, профиль virtual-threads и профиль reactive (Netty, WebFlux, R2DBC).
+# Требует JAVA_HOME с Java 21. Параметры: CONNECTIONS (по умолчанию 2000, для медленных клиентов
+# агрегаторов — CONNECTIONS=10000), DURATION в секундах (30).
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CONNECTIONS="${CONNECTIONS:-2000}"
+DURATION="${DURATION:-30}"
+URL="${URL:-http://localhost:8080/api/v1/rooms/hotel/1}"
+
+# Реактивный стек (WebFlux, R2DBC) попадает в jar только с Maven-профилем reactive
+mvn -B -q -Pvirtual-threads,reactive -DskipTests package
+JAR="$(ls target/booking-backend-hotel-owner-*.jar | head -n 1)"
+
+run() {
+    local mode="$1"
+    shift
+    echo "=== ${mode} ==="
+    java "$@" -jar "${JAR}" > "target/load-test-${mode}.log" 2>&1 &
+    local pid=$!
+    trap 'kill ${pid} 2>/dev/null || true' EXIT
+
+    until curl -sf http://localhost:8080/actuator/health > /dev/null; do
+        sleep 1
+    done
+
+    # Короткий прогрев JIT перед замером
+    java scripts/LoadTest.java "${URL}" 50 5 > /dev/null
+    java scripts/LoadTest.java "${URL}" "${CONNECTIONS}" "${DURATION}" | tee "target/load-test-${mode}.txt"
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    trap - EXIT
+}
+
+run platform
+run virtual -Dspring.profiles.active=virtual-threads
+run reactive -Dspring.profiles.active=reactive
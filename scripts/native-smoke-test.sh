@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+# Smoke-тест native-сборки: собирает бинарник (mvn -Pnative native:compile, нужна GraalVM 22.3+ в JAVA_HOME),
+# запускает его и jar той же сборки, проходит по всем endpoint'ам контроллеров и сравнивает
+# время до готовности и RSS процесса. Завершается с ошибкой при любом ответе не 2xx.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+PORT="${PORT:-8080}"
+BASE="http://localhost:${PORT}"
+FROM="$(date -u -d '+30 days' +%F)"
+TO="$(date -u -d '+33 days' +%F)"
+
+# clean: AOT-классы другого профиля (например fast-startup) иначе остаются в target/classes
+mvn -B -q -Pnative -DskipTests clean native:compile
+BINARY=target/booking-backend-hotel-owner
+JAR="$(ls target/booking-backend-hotel-owner-*.jar | head -n 1)"
+
+call() {
+    local method="$1" path="$2"
+    shift 2
+    local status
+    status="$(curl -s -o /dev/null -w '%{http_code}' -X "${method}" "$@" "${BASE}${path}")"
+    if [[ "${status}" != 2* ]]; then
+        echo "FAILED ${method} ${path}: HTTP ${status}" >&2
+        return 1
+    fi
+    echo "  ${status} ${method} ${path}"
+}
+
+endpoints() {
+    call GET /actuator/health
+    call GET /api/v1/hotel-owner/hello
+    call GET /api/v1/hotel-owner/status
+    call GET /api/v1/hotels
+    call GET /api/v1/hotels/1
+    call GET "/api/v1/hotels/1/occupancy?from=${FROM}&to=${TO}"
+    call GET /api/v1/room-types
+    call GET /api/v1/room-types/1
+    call GET /api/v1/room-types/hotel/1
+    call GET /api/v1/rooms
+    call GET /api/v1/rooms/1
+    call GET /api/v1/rooms/hotel/1
+    call GET /api/v1/rooms/hotel/1 -H "Accept: application/vnd.booking.compact+json"
+    call GET /api/v1/rooms/hotel/1 -H "Accept: application/cbor"
+    call GET /api/v1/rooms/room-type/1
+    call GET "/api/v1/rooms/hotel/1/available?from=${FROM}&to=${TO}"
+    call GET "/api/v1/rooms/room-type/1/available?from=${FROM}&to=${TO}"
+
+    local booking
+    booking="$(curl -sf -X POST -H "Content-Type: application/json" "${BASE}/api/v1/bookings/batch" \
+        -d "[{\"roomId\": 1, \"checkInDate\": \"${FROM}\", \"checkOutDate\": \"${TO}\"}]" \
+        | grep -o '"bookingId":[0-9]*' | cut -d: -f2)"
+    echo "  200 POST /api/v1/bookings/batch -> booking ${booking}"
+    call PATCH "/api/v1/bookings/${booking}/status?status=CONFIRMED"
+
+    call GET /api/v1/admin/occupancy-ledger/check
+    call POST /api/v1/admin/occupancy-ledger/rebuild
+    call GET /api/v1/export/rooms
+    call GET /api/v1/export/bookings
+}
+
+run() {
+    local mode="$1"
+    shift
+    echo "=== ${mode} ==="
+    local started
+    started="$(date +%s%N)"
+    "$@" --server.port="${PORT}" > "target/native-smoke-${mode}.log" 2>&1 &
+    local pid=$!
+    trap 'kill ${pid} 2>/dev/null || true' EXIT
+
+    until curl -sf "${BASE}/actuator/health" > /dev/null; do
+        sleep 0.05
+    done
+    local ready_ms=$(( ($(date +%s%N) - started) / 1000000 ))
+
+    endpoints
+    local rss_kb
+    rss_kb="$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")"
+    echo "${mode}: ready in ${ready_ms} ms, RSS after smoke test $(( rss_kb / 1024 )) MB" | tee -a target/native-smoke.txt
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    trap - EXIT
+}
+
+rm -f target/native-smoke.txt
+run native "${BINARY}"
+run jvm java -jar "${JAR}"
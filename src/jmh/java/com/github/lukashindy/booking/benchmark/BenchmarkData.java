@@ -0,0 +1,105 @@
+package com.github.lukashindy.booking.benchmark;
+
+import com.github.lukashindy.booking.BookingBackendHotelOwnerApplication;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Общие тестовые данные и запуск приложения для бенчмарков.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Поднимает приложение без веб-сервера: DataLoader заполняет H2 так же, как при обычном запуске.
+     * Логи приложения по умолчанию отключены до WARN, чтобы замер показывал путь данных,
+     * а не вывод в консоль; свойства из аргументов переопределяют эти значения.
+     */
+    static ConfigurableApplicationContext startApplication(String... properties) {
+        Map<String, String> values = new LinkedHashMap<>();
+        values.put("logging.level.root", "WARN");
+        values.put("logging.level.com.github.lukashindy", "WARN");
+        for (String property : properties) {
+            int separator = property.indexOf('=');
+            values.put(property.substring(0, separator), property.substring(separator + 1));
+        }
+        // Передаются как аргументы командной строки: они приоритетнее application.properties.
+        // Повторный ключ склеился бы через запятую, поэтому значения сначала сводятся в Map
+        String[] args = values.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+        return new SpringApplicationBuilder(BookingBackendHotelOwnerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+    // Новый запрос на каждый вызов: ServletWebRequest запоминает результат checkNotModified
+    static ServletWebRequest getRequest(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    static Hotel hotel() {
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+        hotel.setName("Grand Paradise Hotel");
+        hotel.setCountry("Maldives");
+        hotel.setCity("Male");
+        hotel.setStreet("Paradise Island Resort, North Male Atoll");
+        return hotel;
+    }
+
+    static List<Room> rooms(int count) {
+        Hotel hotel = hotel();
+        RoomType roomType = new RoomType();
+        roomType.setId(1L);
+        roomType.setName("Standard");
+        roomType.setCapacity(2);
+        roomType.setHotel(hotel);
+
+        List<Room> rooms = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Room room = new Room();
+            room.setId((long) i + 1);
+            room.setRoomNumber(String.format("ST-%03d", i + 1));
+            room.setRoomType(roomType);
+            room.setHotel(hotel);
+            rooms.add(room);
+        }
+        return rooms;
+    }
+
+    static Booking booking(Room room) {
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setRoom(room);
+        booking.setClientId(UUID.fromString("6f1c2a9e-3b7d-4c1e-9a2f-5d8e7b6c4a31"));
+        booking.setCheckInDate(LocalDate.of(2025, 8, 1));
+        booking.setCheckOutDate(LocalDate.of(2025, 8, 5));
+        booking.setGuestFullNames("John Doe, Jane Doe");
+        booking.setSpecialRequests("Late check-in");
+        booking.setStatus(Booking.Status.CONFIRMED);
+        return booking;
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.lukashindy.booking.benchmark;
+
+import com.github.lukashindy.booking.dto.BookingBatchResultDto;
+import com.github.lukashindy.booking.dto.BookingDto;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.HotelOwnerRepository;
+import com.github.lukashindy.booking.repository.HotelRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomTypeRepository;
+import com.github.lukashindy.booking.service.BookingBatchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пакетная запись броней (BookingBatchService.ingest) пачками по 500 в 1000 комнат.
+ * Основной результат — заявки в секунду, счётчик accepted — принятые брони в секунду.
+ * Окно дат пачки (30 ночей) сдвигается на 4 дня за вызов: проверка пересечений каждый раз
+ * читает несколько тысяч уже записанных броней тех же комнат, у каждой заполнены имена гостей
+ * и пожелания (@Lob), как у настоящих броней.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingBatchIngestBenchmark {
+
+    private static final int ROOMS = 1000;
+    private static final int BATCH = 500;
+    private static final int WINDOW_NIGHTS = 30;
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+
+    private static final String GUESTS = "John Smith, Jane Smith, Alice Smith, Bob Smith";
+    private static final String SPECIAL_REQUESTS = "Late check-in after 23:00, non-smoking room on a high floor, "
+            + "extra pillows and a baby cot, airport transfer for four guests with luggage. ".repeat(4);
+
+    private ConfigurableApplicationContext context;
+    private BookingBatchService bookingBatchService;
+    private final List<Long> roomIds = new ArrayList<>();
+    private long invocations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication();
+        bookingBatchService = context.getBean(BookingBatchService.class);
+
+        Hotel hotel = new Hotel();
+        hotel.setName("Benchmark Inn");
+        hotel.setOwner(context.getBean(HotelOwnerRepository.class).findAll().get(0));
+        hotel = context.getBean(HotelRepository.class).save(hotel);
+
+        RoomType roomType = new RoomType();
+        roomType.setName("Standard");
+        roomType.setCapacity(2);
+        roomType.setHotel(hotel);
+        roomType = context.getBean(RoomTypeRepository.class).save(roomType);
+
+        List<Room> rooms = new ArrayList<>(ROOMS);
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomNumber(String.format("BB-%04d", i));
+            room.setRoomType(roomType);
+            room.setHotel(hotel);
+            rooms.add(room);
+        }
+        context.getBean(RoomRepository.class).saveAll(rooms).forEach(room -> roomIds.add(room.getId()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long accepted;
+        public long rejected;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public List<BookingBatchResultDto> ingestBatch(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate windowStart = FROM.plusDays(4 * invocations++);
+        List<BookingDto> requests = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            LocalDate checkIn = windowStart.plusDays(random.nextInt(WINDOW_NIGHTS));
+            BookingDto request = new BookingDto();
+            request.setRoomId(roomIds.get(random.nextInt(ROOMS)));
+            request.setCheckInDate(checkIn);
+            request.setCheckOutDate(checkIn.plusDays(1 + random.nextInt(3)));
+            request.setGuestFullNames(GUESTS);
+            request.setSpecialRequests(SPECIAL_REQUESTS);
+            requests.add(request);
+        }
+        List<BookingBatchResultDto> results = bookingBatchService.ingest(requests);
+        for (BookingBatchResultDto result : results) {
+            if (result.getOutcome() == BookingBatchResultDto.Outcome.ACCEPTED) {
+                outcomes.accepted++;
+            } else {
+                outcomes.rejected++;
+            }
+        }
+        return results;
+    }
+}
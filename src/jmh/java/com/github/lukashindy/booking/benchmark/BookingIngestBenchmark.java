@@ -0,0 +1,104 @@
+package com.github.lukashindy.booking.benchmark;
+
+import com.github.lukashindy.booking.dto.BookingBatchResultDto;
+import com.github.lukashindy.booking.dto.BookingDto;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.HotelOwnerRepository;
+import com.github.lukashindy.booking.repository.HotelRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomTypeRepository;
+import com.github.lukashindy.booking.service.BookingBatchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Запись одиночных броней из 64 потоков в 10 комнат одного типа: все потоки сходятся
+ * на одних полосах замков и строках room_calendar / room_type_day_occupancy.
+ * Окно дат заезда сдвигается на день каждые 4 заявки, так что свободные ночи не кончаются
+ * и большая часть заявок принимается, а соседние заявки по-прежнему пересекаются.
+ * Счётчики accepted/rejected дают принятые брони в секунду отдельно от всех заявок.
+ * <p>
+ * Прогрев длинный: на одном ядре 64 рабочих потока отнимают процессор у JIT-компилятора,
+ * и до ~150 с прогрева замер показывает интерпретируемый код, а не установившийся режим.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 30, time = 5)
+@Measurement(iterations = 5, time = 3)
+@Threads(64)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingIngestBenchmark {
+
+    private static final int ROOMS = 10;
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+
+    private ConfigurableApplicationContext context;
+    private BookingBatchService bookingBatchService;
+    private final List<Long> roomIds = new ArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Пул соединений под 64 потока: иначе замер покажет очередь за соединением, а не замки
+        context = BenchmarkData.startApplication("spring.datasource.hikari.maximum-pool-size=64");
+        bookingBatchService = context.getBean(BookingBatchService.class);
+
+        Hotel hotel = new Hotel();
+        hotel.setName("Benchmark Inn");
+        hotel.setOwner(context.getBean(HotelOwnerRepository.class).findAll().get(0));
+        hotel = context.getBean(HotelRepository.class).save(hotel);
+
+        RoomType roomType = new RoomType();
+        roomType.setName("Standard");
+        roomType.setCapacity(2);
+        roomType.setHotel(hotel);
+        roomType = context.getBean(RoomTypeRepository.class).save(roomType);
+
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomNumber(String.format("BI-%03d", i));
+            room.setRoomType(roomType);
+            room.setHotel(hotel);
+            roomIds.add(context.getBean(RoomRepository.class).save(room).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Outcomes {
+        public long accepted;
+        public long rejected;
+    }
+
+    @Benchmark
+    public List<BookingBatchResultDto> ingestSingleBooking(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDate checkIn = FROM.plusDays(sequence.getAndIncrement() / 4 + random.nextInt(8));
+        BookingDto request = new BookingDto();
+        request.setRoomId(roomIds.get(random.nextInt(ROOMS)));
+        request.setCheckInDate(checkIn);
+        request.setCheckOutDate(checkIn.plusDays(1 + random.nextInt(3)));
+        List<BookingBatchResultDto> results = bookingBatchService.ingest(List.of(request));
+        if (results.get(0).getOutcome() == BookingBatchResultDto.Outcome.ACCEPTED) {
+            outcomes.accepted++;
+        } else {
+            outcomes.rejected++;
+        }
+        return results;
+    }
+}
@@ -0,0 +1,66 @@
+package com.github.lukashindy.booking.benchmark;
+
+import com.github.lukashindy.booking.controller.HotelController;
+import com.github.lukashindy.booking.controller.RoomTypeController;
+import com.github.lukashindy.booking.dto.HotelDto;
+import com.github.lukashindy.booking.dto.RoomTypeDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Поиск справочных данных по "горячим" id с кэшем второго уровня Hibernate (и кэшем запросов) и без него.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogCacheBenchmark {
+
+    // DataLoader создаёт 7 типов комнат в отеле 1
+    private static final long HOT_ROOM_TYPES = 7;
+
+    @Param({"l2", "none"})
+    private String cacheType;
+
+    private ConfigurableApplicationContext context;
+    private HotelController hotelController;
+    private RoomTypeController roomTypeController;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean cached = "l2".equals(cacheType);
+        context = BenchmarkData.startApplication(
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cached,
+                "spring.jpa.properties.hibernate.cache.use_query_cache=" + cached);
+        hotelController = context.getBean(HotelController.class);
+        roomTypeController = context.getBean(RoomTypeController.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<HotelDto> getHotelById() {
+        return hotelController.getHotelById(1L);
+    }
+
+    @Benchmark
+    public ResponseEntity<RoomTypeDto> getRoomTypeById() {
+        next = next % HOT_ROOM_TYPES + 1;
+        return roomTypeController.getRoomTypeById(next);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<RoomTypeDto>> getRoomTypesByHotelId() {
+        return roomTypeController.getRoomTypesByHotelId(1L, BenchmarkData.getRequest(null));
+    }
+}
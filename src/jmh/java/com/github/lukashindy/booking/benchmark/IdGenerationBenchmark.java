@@ -0,0 +1,112 @@
+package com.github.lukashindy.booking.benchmark;
+
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.HotelRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.tools.Server;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RoomRepository.saveAll для 100 тыс. комнат: id из pooled-последовательности (как в приложении) против IDENTITY.
+ * С IDENTITY Hibernate узнаёт id только после INSERT каждой строки и не может собирать их в JDBC batch.
+ * Режим identity подключает benchmark/identity-room-orm.xml, переопределяющий только генерацию id у Room.
+ * База: mem — встроенная H2, у INSERT нет сетевого round trip; tcp — та же H2, но отдельным TCP-сервером,
+ * приложение ходит к ней по сети (loopback) через JDBC-драйвер, как к серверу БД.
+ * На 1 CPU: mem — оба режима ~1,1 с на 100 тыс.; tcp — pooled ~1,3 с, identity ~3,1 с (round trip на каждую строку).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IdGenerationBenchmark {
+
+    private static final int ROOMS = 100_000;
+
+    @Param({"pooled", "identity"})
+    private String generation;
+
+    @Param({"mem", "tcp"})
+    private String database;
+
+    private Server server;
+    private ConfigurableApplicationContext context;
+    private RoomRepository roomRepository;
+    private JdbcTemplate jdbcTemplate;
+    private Hotel hotel;
+    private RoomType roomType;
+    private List<Room> rooms;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        List<String> properties = new ArrayList<>();
+        if ("identity".equals(generation)) {
+            properties.add("spring.jpa.mapping-resources=benchmark/identity-room-orm.xml");
+        }
+        if ("tcp".equals(database)) {
+            // -ifNotExists: база в памяти сервера создаётся при первом подключении приложения
+            server = Server.createTcpServer("-tcpPort", String.valueOf(freePort()), "-ifNotExists").start();
+            properties.add("spring.datasource.url=jdbc:h2:tcp://localhost:" + server.getPort()
+                    + "/mem:benchmark;DB_CLOSE_DELAY=-1");
+        }
+        context = BenchmarkData.startApplication(properties.toArray(String[]::new));
+        roomRepository = context.getBean(RoomRepository.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        hotel = context.getBean(HotelRepository.class).findAll().get(0);
+        roomType = context.getBean(RoomTypeRepository.class).findByHotelId(hotel.getId()).get(0);
+        // Видно в выводе, что orm.xml действительно сменил генератор
+        System.out.printf("%nRoom id generator: %s%n", context.getBean(EntityManagerFactory.class)
+                .unwrap(SessionFactoryImplementor.class).getMappingMetamodel()
+                .getEntityDescriptor(Room.class).getGenerator().getClass().getSimpleName());
+    }
+
+    @Setup(Level.Invocation)
+    public void createRooms() {
+        rooms = new ArrayList<>(ROOMS);
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomNumber("B-" + i);
+            room.setRoomType(roomType);
+            room.setHotel(hotel);
+            rooms.add(room);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteRooms() {
+        jdbcTemplate.update("delete from room where room_number like 'B-%'");
+        context.getBean(EntityManagerFactory.class).getCache().evict(Room.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        if (server != null) {
+            server.stop();
+        }
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Benchmark
+    public List<Room> saveAll() {
+        return roomRepository.saveAll(rooms);
+    }
+}
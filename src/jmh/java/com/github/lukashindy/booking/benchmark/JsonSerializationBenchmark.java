@@ -0,0 +1,48 @@
+package com.github.lukashindy.booking.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
+import com.github.lukashindy.booking.mapper.RoomMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация ответа RoomController (List&lt;RoomWithDetailsDto&gt;) в JSON.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<RoomWithDetailsDto> rooms;
+
+    @Setup
+    public void setUp() {
+        // Настройки как у ObjectMapper, который Spring Boot отдаёт MVC
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, RoomWithDetailsDto.class));
+        RoomMapper roomMapper = Mappers.getMapper(RoomMapper.class);
+        rooms = BenchmarkData.rooms(size).stream().map(roomMapper::toDetailedDto).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeRooms() throws Exception {
+        return writer.writeValueAsBytes(rooms);
+    }
+}
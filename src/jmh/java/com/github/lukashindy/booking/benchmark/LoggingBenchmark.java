@@ -0,0 +1,81 @@
+package com.github.lukashindy.booking.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import com.github.lukashindy.booking.controller.RoomController;
+import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость логирования на RoomController.getRoomsByHotelId.
+ * sync-debug — две строки на запрос синхронно в консоль (прежнее поведение с INFO),
+ * async-debug — тот же объём через асинхронный appender, async-info — настройка по умолчанию
+ * (построчные подробности на DEBUG выключены).
+ * Консоль перенаправлена в файл без буферизации, как stdout контейнера.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    @Param({"sync-debug", "async-debug", "async-info"})
+    private String mode;
+
+    private PrintStream originalOut;
+    private PrintStream console;
+    private ConfigurableApplicationContext context;
+    private RoomController roomController;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        originalOut = System.out;
+        console = new PrintStream(new FileOutputStream("target/logging-benchmark-" + mode + ".log"), true);
+        System.setOut(console);
+
+        context = BenchmarkData.startApplication(
+                "logging.level.com.github.lukashindy=" + (mode.endsWith("debug") ? "DEBUG" : "INFO"));
+        roomController = context.getBean(RoomController.class);
+
+        if (mode.startsWith("sync")) {
+            useConsoleAppenderDirectly();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        System.setOut(originalOut);
+        console.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<RoomWithDetailsDto>> getRoomsByHotelId() {
+        return roomController.getRoomsByHotelId(1L, BenchmarkData.getRequest(null));
+    }
+
+    // Подключает CONSOLE к root напрямую, минуя очередь ASYNC_CONSOLE
+    private void useConsoleAppenderDirectly() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        ch.qos.logback.classic.Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        AsyncAppender async = (AsyncAppender) root.getAppender("ASYNC_CONSOLE");
+        Appender<ILoggingEvent> consoleAppender = async.getAppender("CONSOLE");
+        root.detachAppender(async);
+        root.addAppender(consoleAppender);
+    }
+}
@@ -0,0 +1,53 @@
+package com.github.lukashindy.booking.benchmark;
+
+import com.github.lukashindy.booking.dto.BookingDto;
+import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
+import com.github.lukashindy.booking.mapper.BookingMapper;
+import com.github.lukashindy.booking.mapper.RoomMapper;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Room;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct-мапперы на горячем пути контроллеров.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private final RoomMapper roomMapper = Mappers.getMapper(RoomMapper.class);
+    private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+
+    private Room room;
+    private Booking booking;
+    private BookingDto bookingDto;
+
+    @Setup
+    public void setUp() {
+        room = BenchmarkData.rooms(1).get(0);
+        booking = BenchmarkData.booking(room);
+        bookingDto = bookingMapper.toDto(booking);
+    }
+
+    @Benchmark
+    public RoomWithDetailsDto roomToDetailedDto() {
+        return roomMapper.toDetailedDto(room);
+    }
+
+    @Benchmark
+    public BookingDto bookingToDto() {
+        return bookingMapper.toDto(booking);
+    }
+
+    @Benchmark
+    public Booking bookingToEntity() {
+        return bookingMapper.toEntity(bookingDto);
+    }
+}
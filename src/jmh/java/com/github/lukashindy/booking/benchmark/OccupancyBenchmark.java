@@ -0,0 +1,106 @@
+package com.github.lukashindy.booking.benchmark;
+
+import com.github.lukashindy.booking.dto.OccupancyDto;
+import com.github.lukashindy.booking.dto.OccupancyDto.Granularity;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.HotelOwnerRepository;
+import com.github.lukashindy.booking.repository.HotelRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomTypeRepository;
+import com.github.lukashindy.booking.service.OccupancyLedger;
+import com.github.lukashindy.booking.service.OccupancyService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OccupancyService.getOccupancy за год по отелю из 500 комнат (10 типов по 50),
+ * у каждой комнаты подряд идущие брони на 1–7 ночей с перерывами до 3 дней (~30 тыс. броней).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OccupancyBenchmark {
+
+    private static final int ROOM_TYPES = 10;
+    private static final int ROOMS_PER_TYPE = 50;
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = FROM.plusDays(365);
+
+    @Param({"day", "month"})
+    private String granularity;
+
+    private ConfigurableApplicationContext context;
+    private OccupancyService occupancyService;
+    private Long hotelId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication();
+        occupancyService = context.getBean(OccupancyService.class);
+
+        Hotel hotel = new Hotel();
+        hotel.setName("Benchmark Resort");
+        hotel.setOwner(context.getBean(HotelOwnerRepository.class).findAll().get(0));
+        hotel = context.getBean(HotelRepository.class).save(hotel);
+        hotelId = hotel.getId();
+
+        List<Room> rooms = new ArrayList<>();
+        for (int t = 0; t < ROOM_TYPES; t++) {
+            RoomType roomType = new RoomType();
+            roomType.setName("Type " + t);
+            roomType.setCapacity(2);
+            roomType.setHotel(hotel);
+            roomType = context.getBean(RoomTypeRepository.class).save(roomType);
+            for (int r = 0; r < ROOMS_PER_TYPE; r++) {
+                Room room = new Room();
+                room.setRoomNumber(String.format("B%d-%03d", t, r));
+                room.setRoomType(roomType);
+                room.setHotel(hotel);
+                rooms.add(room);
+            }
+        }
+        rooms = context.getBean(RoomRepository.class).saveAll(rooms);
+
+        Random random = new Random(42);
+        List<Object[]> bookings = new ArrayList<>();
+        long bookingId = 1_000_000;
+        for (Room room : rooms) {
+            LocalDate checkIn = FROM.minusDays(random.nextInt(7));
+            while (checkIn.isBefore(TO)) {
+                LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(7));
+                bookings.add(new Object[]{bookingId++, room.getId(), Date.valueOf(checkIn), Date.valueOf(checkOut),
+                        random.nextInt(10) == 0 ? "CANCELLED" : "CONFIRMED"});
+                checkIn = checkOut.plusDays(random.nextInt(4));
+            }
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "insert into booking (id, room_id, check_in_date, check_out_date, status) values (?, ?, ?, ?, ?)",
+                bookings);
+        // Брони вставлены мимо сервисов: таблицу занятости пересчитывает rebuild
+        int ledgerRows = context.getBean(OccupancyLedger.class).rebuild();
+        System.out.printf("%nSeeded %d rooms, %d bookings and %d occupancy rows%n", rooms.size(), bookings.size(), ledgerRows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OccupancyDto occupancyForYear() {
+        return occupancyService.getOccupancy(hotelId, FROM, TO, Granularity.valueOf(granularity.toUpperCase()));
+    }
+}
@@ -0,0 +1,96 @@
+package com.github.lukashindy.booking.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.lukashindy.booking.dto.RoomListingDto;
+import com.github.lukashindy.booking.mapper.HotelMapper;
+import com.github.lukashindy.booking.mapper.RoomMapper;
+import com.github.lukashindy.booking.mapper.RoomTypeMapper;
+import com.github.lukashindy.booking.model.Room;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Ответ RoomController для большого отеля в разных форматах: JSON, CBOR, Smile,
+ * в детальной форме (List&lt;RoomWithDetailsDto&gt;) и компактной (RoomListingDto).
+ * serialize — CPU сериализации, serializeGzip — сериализация плюс gzip, как при server.compression.
+ * Размер на проводе (байты до и после gzip) печатается при подготовке каждой комбинации.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseFormatBenchmark {
+
+    private static final int ROOMS = 1000;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"detailed", "compact"})
+    private String shape;
+
+    private ObjectWriter writer;
+    private Object response;
+
+    @Setup
+    public void setUp() throws IOException {
+        writer = mapper().writer();
+        response = shape.equals("compact") ? compactResponse() : detailedResponse();
+
+        byte[] body = serialize();
+        System.out.printf("%n%s/%s, %d rooms: %d bytes, %d bytes gzip%n",
+                format, shape, ROOMS, body.length, gzip(body).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeGzip() throws IOException {
+        return gzip(writer.writeValueAsBytes(response));
+    }
+
+    private ObjectMapper mapper() {
+        return switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+    }
+
+    private Object detailedResponse() {
+        RoomMapper roomMapper = Mappers.getMapper(RoomMapper.class);
+        return BenchmarkData.rooms(ROOMS).stream().map(roomMapper::toDetailedDto).toList();
+    }
+
+    // Все комнаты BenchmarkData относятся к одному отелю и одному типу комнат
+    private Object compactResponse() {
+        List<Room> rooms = BenchmarkData.rooms(ROOMS);
+        RoomListingDto listing = new RoomListingDto();
+        listing.setHotels(List.of(Mappers.getMapper(HotelMapper.class).toDto(rooms.get(0).getHotel())));
+        listing.setRoomTypes(List.of(Mappers.getMapper(RoomTypeMapper.class).toDto(rooms.get(0).getRoomType())));
+        RoomMapper roomMapper = Mappers.getMapper(RoomMapper.class);
+        listing.setRooms(rooms.stream().map(roomMapper::toDto).toList());
+        return listing;
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        }
+        return out.toByteArray();
+    }
+}
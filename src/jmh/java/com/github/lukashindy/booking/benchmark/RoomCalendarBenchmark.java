@@ -0,0 +1,144 @@
+package com.github.lukashindy.booking.benchmark;
+
+import com.github.lukashindy.booking.controller.RoomController;
+import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
+import com.github.lukashindy.booking.mapper.RoomMapper;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.HotelOwnerRepository;
+import com.github.lukashindy.booking.repository.HotelRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomTypeRepository;
+import com.github.lukashindy.booking.service.RoomCalendarIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Свободные комнаты типа на неделю через месяц: календарь в памяти против запроса с NOT EXISTS по броням.
+ * Отель из 500 комнат (10 типов по 50), у каждой комнаты подряд идущие брони на год вперёд (~30 тыс. броней).
+ * freeRoomIds сравнивает только поиск id, availableRooms — ответ эндпоинта целиком.
+ * Прогрев длиннее обычного: путь через кэш второго уровня выходит на плато только после ~10 итераций.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoomCalendarBenchmark {
+
+    private static final int ROOM_TYPES = 10;
+    private static final int ROOMS_PER_TYPE = 50;
+    private static final String FREE_ROOM_IDS_SQL =
+            "select r.id from room r where r.room_type_id = ? and not exists (" +
+            "select 1 from booking b where b.room_id = r.id and b.check_in_date < ? and b.check_out_date > ? " +
+            "and b.status <> 'CANCELLED') order by r.id";
+
+    @Param({"index", "sql"})
+    private String source;
+
+    private ConfigurableApplicationContext context;
+    private RoomCalendarIndex roomCalendarIndex;
+    private RoomController roomController;
+    private RoomRepository roomRepository;
+    private RoomMapper roomMapper;
+    private JdbcTemplate jdbcTemplate;
+    private Long roomTypeId;
+    private List<Long> roomIdsOfType;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication();
+        roomCalendarIndex = context.getBean(RoomCalendarIndex.class);
+        roomController = context.getBean(RoomController.class);
+        roomRepository = context.getBean(RoomRepository.class);
+        roomMapper = context.getBean(RoomMapper.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        Hotel hotel = new Hotel();
+        hotel.setName("Benchmark Resort");
+        hotel.setOwner(context.getBean(HotelOwnerRepository.class).findAll().get(0));
+        hotel = context.getBean(HotelRepository.class).save(hotel);
+
+        List<Room> rooms = new ArrayList<>();
+        for (int t = 0; t < ROOM_TYPES; t++) {
+            RoomType roomType = new RoomType();
+            roomType.setName("Type " + t);
+            roomType.setCapacity(2);
+            roomType.setHotel(hotel);
+            roomType = context.getBean(RoomTypeRepository.class).save(roomType);
+            roomTypeId = roomType.getId();
+            for (int r = 0; r < ROOMS_PER_TYPE; r++) {
+                Room room = new Room();
+                room.setRoomNumber(String.format("C%d-%03d", t, r));
+                room.setRoomType(roomType);
+                room.setHotel(hotel);
+                rooms.add(room);
+            }
+        }
+        rooms = roomRepository.saveAll(rooms);
+        roomIdsOfType = rooms.stream()
+                .filter(room -> room.getRoomType().getId().equals(roomTypeId))
+                .map(Room::getId)
+                .toList();
+
+        LocalDate today = LocalDate.now();
+        Random random = new Random(42);
+        List<Object[]> bookings = new ArrayList<>();
+        long bookingId = 1_000_000;
+        for (Room room : rooms) {
+            LocalDate checkIn = today.minusDays(random.nextInt(7));
+            while (checkIn.isBefore(today.plusDays(365))) {
+                LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(7));
+                bookings.add(new Object[]{bookingId++, room.getId(), Date.valueOf(checkIn), Date.valueOf(checkOut),
+                        random.nextInt(10) == 0 ? "CANCELLED" : "CONFIRMED"});
+                checkIn = checkOut.plusDays(random.nextInt(4));
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into booking (id, room_id, check_in_date, check_out_date, status) values (?, ?, ?, ?, ?)",
+                bookings);
+        // Брони вставлены мимо сервисов: календарь строится заново, как при старте
+        roomCalendarIndex.rebuild();
+
+        from = today.plusDays(30);
+        to = from.plusDays(7);
+        System.out.printf("%nSeeded %d rooms and %d bookings; %d of %d rooms of the type are free for %s..%s%n",
+                rooms.size(), bookings.size(), roomCalendarIndex.findFree(roomIdsOfType, from, to).size(),
+                roomIdsOfType.size(), from, to);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Long> freeRoomIds() {
+        if (source.equals("index")) {
+            return roomCalendarIndex.findFree(roomIdsOfType, from, to);
+        }
+        return jdbcTemplate.queryForList(FREE_ROOM_IDS_SQL, Long.class, roomTypeId, Date.valueOf(to), Date.valueOf(from));
+    }
+
+    @Benchmark
+    public List<RoomWithDetailsDto> availableRooms() {
+        if (source.equals("index")) {
+            return roomController.getAvailableRoomsByRoomTypeId(roomTypeId, from, to).getBody();
+        }
+        return roomRepository.findAvailableByRoomTypeId(roomTypeId, from, to).stream()
+                .map(roomMapper::toDetailedDto)
+                .toList();
+    }
+}
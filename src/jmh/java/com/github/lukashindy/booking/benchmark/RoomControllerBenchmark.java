@@ -0,0 +1,63 @@
+package com.github.lukashindy.booking.benchmark;
+
+import com.github.lukashindy.booking.controller.RoomController;
+import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RoomController.getRoomsByHotelId целиком: репозиторий, H2, маппинг.
+ * notModified — повторный запрос клиента с актуальным If-None-Match (ответ 304 без загрузки комнат).
+ * Данные засевает DataLoader (1 отель, 46 комнат).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RoomControllerBenchmark {
+
+    // Кэш второго уровня включён в приложении по умолчанию; "false" показывает чистый путь через JDBC
+    @Param({"true", "false"})
+    private boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private RoomController roomController;
+    private String eTag;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.startApplication(
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache);
+        roomController = context.getBean(RoomController.class);
+
+        ServletWebRequest first = BenchmarkData.getRequest(null);
+        roomController.getRoomsByHotelId(1L, first);
+        eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<List<RoomWithDetailsDto>> getRoomsByHotelId() {
+        return roomController.getRoomsByHotelId(1L, BenchmarkData.getRequest(null));
+    }
+
+    @Benchmark
+    public ServletWebRequest notModified() {
+        ServletWebRequest request = BenchmarkData.getRequest(eTag);
+        roomController.getRoomsByHotelId(1L, request);
+        return request;
+    }
+}
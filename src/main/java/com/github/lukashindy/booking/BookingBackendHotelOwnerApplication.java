@@ -2,12 +2,16 @@ package com.github.lukashindy.booking;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class BookingBackendHotelOwnerApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(BookingBackendHotelOwnerApplication.class, args);
+		SpringApplication application = new SpringApplication(BookingBackendHotelOwnerApplication.class);
+		// Фазы старта для /actuator/startup и StartupTimelineReporter
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,111 @@
+package com.github.lukashindy.booking.config;
+
+import liquibase.Liquibase;
+import liquibase.UpdateSummaryEnum;
+import liquibase.UpdateSummaryOutputEnum;
+import liquibase.integration.spring.Customizer;
+import liquibase.integration.spring.SpringLiquibase;
+import liquibase.ui.UIServiceEnum;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Пропуск Liquibase при неизменном changelog (booking.liquibase.skip-unchanged, профиль fast-startup).
+ * Заменяет SpringLiquibase из автоконфигурации и переносит в него все spring.liquibase.* так же,
+ * как LiquibaseAutoConfiguration: отдельное подключение (url, user), контексты, метки, схемы,
+ * drop-first, параметры changelog и бины Customizer&lt;Liquibase&gt;.
+ */
+@Configuration
+@ConditionalOnProperty(name = "booking.liquibase.skip-unchanged", havingValue = "true")
+@EnableConfigurationProperties(LiquibaseProperties.class)
+public class LiquibaseConfig {
+
+    private static final String CHANGELOG_FILES = "classpath*:db/changelog/**/*.xml";
+
+    @Bean
+    public SpringLiquibase liquibase(ObjectProvider<DataSource> dataSource,
+                                     @LiquibaseDataSource ObjectProvider<DataSource> liquibaseDataSource,
+                                     LiquibaseProperties properties,
+                                     ObjectProvider<Customizer<Liquibase>> customizer) {
+        SchemaChecksumLiquibase liquibase = new SchemaChecksumLiquibase(CHANGELOG_FILES);
+        liquibase.setDataSource(migrationDataSource(liquibaseDataSource.getIfAvailable(), dataSource.getIfUnique(), properties));
+        liquibase.setChangeLog(properties.getChangeLog());
+        liquibase.setClearCheckSums(properties.isClearChecksums());
+        if (!CollectionUtils.isEmpty(properties.getContexts())) {
+            liquibase.setContexts(StringUtils.collectionToCommaDelimitedString(properties.getContexts()));
+        }
+        liquibase.setDefaultSchema(properties.getDefaultSchema());
+        liquibase.setLiquibaseSchema(properties.getLiquibaseSchema());
+        liquibase.setLiquibaseTablespace(properties.getLiquibaseTablespace());
+        liquibase.setDatabaseChangeLogTable(properties.getDatabaseChangeLogTable());
+        liquibase.setDatabaseChangeLogLockTable(properties.getDatabaseChangeLogLockTable());
+        liquibase.setDropFirst(properties.isDropFirst());
+        liquibase.setShouldRun(properties.isEnabled());
+        if (!CollectionUtils.isEmpty(properties.getLabelFilter())) {
+            liquibase.setLabelFilter(StringUtils.collectionToCommaDelimitedString(properties.getLabelFilter()));
+        }
+        liquibase.setChangeLogParameters(properties.getParameters());
+        liquibase.setRollbackFile(properties.getRollbackFile());
+        liquibase.setTestRollbackOnUpdate(properties.isTestRollbackOnUpdate());
+        liquibase.setTag(properties.getTag());
+        if (properties.getShowSummary() != null) {
+            liquibase.setShowSummary(UpdateSummaryEnum.valueOf(properties.getShowSummary().name()));
+        }
+        if (properties.getShowSummaryOutput() != null) {
+            liquibase.setShowSummaryOutput(UpdateSummaryOutputEnum.valueOf(properties.getShowSummaryOutput().name()));
+        }
+        if (properties.getUiService() != null) {
+            liquibase.setUiService(UIServiceEnum.valueOf(properties.getUiService().name()));
+        }
+        if (properties.getAnalyticsEnabled() != null) {
+            liquibase.setAnalyticsEnabled(properties.getAnalyticsEnabled());
+        }
+        if (properties.getLicenseKey() != null) {
+            liquibase.setLicenseKey(properties.getLicenseKey());
+        }
+        customizer.ifAvailable(liquibase::setCustomizer);
+        return liquibase;
+    }
+
+    // Тот же выбор подключения, что в автоконфигурации: @LiquibaseDataSource, затем spring.liquibase.url,
+    // затем spring.liquibase.user поверх основного DataSource, иначе сам основной DataSource
+    private DataSource migrationDataSource(DataSource liquibaseDataSource, DataSource dataSource,
+                                           LiquibaseProperties properties) {
+        if (liquibaseDataSource != null) {
+            return liquibaseDataSource;
+        }
+        if (properties.getUrl() != null) {
+            DataSourceBuilder<?> builder = DataSourceBuilder.create().type(SimpleDriverDataSource.class);
+            builder.url(properties.getUrl());
+            return credentials(builder, properties).build();
+        }
+        if (properties.getUser() != null && dataSource != null) {
+            DataSourceBuilder<?> builder = DataSourceBuilder.derivedFrom(dataSource).type(SimpleDriverDataSource.class);
+            return credentials(builder, properties).build();
+        }
+        if (dataSource == null) {
+            throw new IllegalStateException("Liquibase migration DataSource missing");
+        }
+        return dataSource;
+    }
+
+    private DataSourceBuilder<?> credentials(DataSourceBuilder<?> builder, LiquibaseProperties properties) {
+        builder.username(properties.getUser());
+        builder.password(properties.getPassword());
+        if (StringUtils.hasText(properties.getDriverClassName())) {
+            builder.driverClassName(properties.getDriverClassName());
+        }
+        return builder;
+    }
+}
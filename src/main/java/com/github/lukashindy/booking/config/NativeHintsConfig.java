@@ -0,0 +1,64 @@
+package com.github.lukashindy.booking.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.github.lukashindy.booking.dto.*;
+import com.github.lukashindy.booking.model.*;
+import com.github.lukashindy.booking.repository.BookingDateCount;
+import com.github.lukashindy.booking.repository.CatalogVersion;
+import com.github.lukashindy.booking.repository.RoomStay;
+import com.github.lukashindy.booking.repository.RoomTypeNightCount;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Подсказки для native-image (mvn -Pnative native:compile) о том, что AOT-обработка
+ * не видит по коду: ресурсы, загружаемые по имени, и классы, создаваемые через reflection.
+ * Мапперы MapStruct (componentModel = "spring") — обычные бины, их AOT регистрирует сам;
+ * метаданные драйвера H2 подключает native-maven-plugin из GraalVM reachability metadata.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.BookingRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class BookingRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final List<Class<?>> ENTITIES = List.of(
+                Booking.class, Room.class, RoomType.class, Hotel.class, HotelOwner.class,
+                RoomCalendar.class, RoomTypeDayOccupancy.class, RoomTypeDayOccupancy.Key.class);
+
+        // Результаты JPQL "select new ...": конструктор вызывается через reflection
+        private static final List<Class<?>> PROJECTIONS = List.of(
+                RoomStay.class, BookingDateCount.class, CatalogVersion.class, RoomTypeNightCount.class);
+
+        // Jackson читает и пишет DTO через reflection, в том числе вложенные в обобщенные ответы
+        private static final Class<?>[] DTOS = {
+                BookingBatchResultDto.class, BookingDto.class, CursorPageDto.class, ErrorResponseDto.class,
+                HotelDto.class, HotelOwnerDto.class, OccupancyDto.class, OccupancyPeriodDto.class, RoomDto.class,
+                RoomListingDto.class, RoomTypeDto.class, RoomTypeOccupancyDto.class, RoomWithDetailsDto.class
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources().registerPattern("db/changelog/**");
+            hints.resources().registerPattern("hibernate-jcache.conf");
+
+            // Провайдер JCache задан именем класса в hibernate.javax.cache.provider
+            hints.reflection().registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+
+            for (Class<?> entity : ENTITIES) {
+                hints.reflection().registerType(entity, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            for (Class<?> projection : PROJECTIONS) {
+                hints.reflection().registerType(projection, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            }
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), DTOS);
+        }
+    }
+}
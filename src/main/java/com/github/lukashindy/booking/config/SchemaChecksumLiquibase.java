@@ -0,0 +1,128 @@
+package com.github.lukashindy.booking.config;
+
+import liquibase.Liquibase;
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.TreeMap;
+
+/**
+ * Liquibase, который не разбирает changelog, если схема уже накатана из тех же файлов.
+ * После обновления последняя строка DATABASECHANGELOG помечается тегом с SHA-256 всех файлов
+ * changelog; при следующем старте тег ищется одним запросом, и при совпадении Liquibase не запускается.
+ * Любое изменение файлов (новый changeSet) меняет сумму, и обновление идёт обычным путем.
+ * В сумму входят и настройки, меняющие набор выполняемых changeSet (контексты, метки, параметры, tag, схема),
+ * а drop-first, clear-checksums и test-rollback-on-update требуют запуска Liquibase при каждом старте.
+ */
+public class SchemaChecksumLiquibase extends SpringLiquibase {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaChecksumLiquibase.class);
+
+    private static final String TAG_PREFIX = "schema-";
+
+    private final String changeLogPattern;
+    // Каталог перед первым шаблонным символом: пути файлов в сумме берутся относительно него
+    private final String changeLogRoot;
+
+    private String checksum;
+
+    /**
+     * @param changeLogPattern шаблон ресурсов, из которых собран changelog, например classpath*:db/changelog/**&#47;*.xml
+     */
+    public SchemaChecksumLiquibase(String changeLogPattern) {
+        this.changeLogPattern = changeLogPattern;
+        int location = changeLogPattern.indexOf(':') + 1;
+        this.changeLogRoot = changeLogPattern.substring(location, changeLogPattern.indexOf('*', location));
+    }
+
+    @Override
+    public void afterPropertiesSet() throws LiquibaseException {
+        if (shouldRun && !dropFirst && !clearCheckSums && !testRollbackOnUpdate && isApplied(checksum())) {
+            logger.info("Database schema is up to date with changelog checksum {}, skipping Liquibase", checksum());
+            return;
+        }
+        super.afterPropertiesSet();
+    }
+
+    @Override
+    protected void performUpdate(Liquibase liquibase) throws LiquibaseException {
+        super.performUpdate(liquibase);
+        liquibase.tag(checksum());
+    }
+
+    String checksum() {
+        if (checksum == null) {
+            checksum = TAG_PREFIX + HexFormat.of().formatHex(digest()).substring(0, 32);
+        }
+        return checksum;
+    }
+
+    private boolean isApplied(String tag) {
+        String table = getDatabaseChangeLogTable() != null ? getDatabaseChangeLogTable() : "databasechangelog";
+        // Таблица лежит в liquibase-schema, а без нее в default-schema
+        String schema = getLiquibaseSchema() != null ? getLiquibaseSchema() : getDefaultSchema();
+        if (schema != null) {
+            table = schema + "." + table;
+        }
+        try {
+            Integer count = new JdbcTemplate(getDataSource())
+                    .queryForObject("select count(*) from " + table + " where tag = ?", Integer.class, tag);
+            return count != null && count > 0;
+        } catch (DataAccessException e) {
+            // Пустая база: таблицы Liquibase еще нет
+            logger.debug("Liquibase changelog table is not readable: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private byte[] digest() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            Resource[] resources = new PathMatchingResourcePatternResolver(getResourceLoader())
+                    .getResources(changeLogPattern);
+            // Порядок файлов от порядка обхода classpath не зависит
+            Arrays.sort(resources, Comparator.comparing(this::path));
+            for (Resource resource : resources) {
+                digest.update(path(resource).getBytes());
+                try (InputStream in = resource.getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            // Параметры в порядке ключей: порядок Map от источника свойств не зависит
+            String settings = String.join("\n", String.valueOf(getChangeLog()), String.valueOf(getContexts()),
+                    String.valueOf(getLabelFilter()), String.valueOf(getTag()), String.valueOf(getDefaultSchema()),
+                    String.valueOf(parameters == null ? null : new TreeMap<>(parameters)));
+            digest.update(settings.getBytes());
+            return digest.digest();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read Liquibase changelog " + changeLogPattern, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Путь относительно корня changelog: одинаков для файлов в каталоге и внутри jar
+    private String path(Resource resource) {
+        try {
+            String url = resource.getURL().toString();
+            int root = url.indexOf(changeLogRoot);
+            return root >= 0 ? url.substring(root) : resource.getFilename();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
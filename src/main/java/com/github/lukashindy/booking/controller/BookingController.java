@@ -0,0 +1,55 @@
+package com.github.lukashindy.booking.controller;
+
+import com.github.lukashindy.booking.dto.BookingBatchResultDto;
+import com.github.lukashindy.booking.dto.BookingDto;
+import com.github.lukashindy.booking.exception.BadRequestException;
+import com.github.lukashindy.booking.mapper.BookingMapper;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.service.BookingBatchService;
+import com.github.lukashindy.booking.service.BookingStatusService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/bookings")
+@Profile("!reactive")
+public class BookingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingController.class);
+
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    @Autowired
+    private BookingBatchService bookingBatchService;
+
+    @Autowired
+    private BookingStatusService bookingStatusService;
+
+    @Autowired
+    private BookingMapper bookingMapper;
+
+    @PostMapping("/batch")
+    public ResponseEntity<List<BookingBatchResultDto>> createBookings(@RequestBody List<BookingDto> bookings) {
+        logger.info("Received batch of {} bookings", bookings.size());
+
+        if (bookings.isEmpty() || bookings.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException(String.format("Batch must contain between 1 and %d bookings", MAX_BATCH_SIZE));
+        }
+
+        // Результат по каждой заявке в исходном порядке; отклонённые не откатывают принятые
+        List<BookingBatchResultDto> results = bookingBatchService.ingest(bookings);
+        return ResponseEntity.ok(results);
+    }
+
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<BookingDto> changeStatus(@PathVariable Long id, @RequestParam Booking.Status status) {
+        logger.info("Changing status of booking {} to {}", id, status);
+        return ResponseEntity.ok(bookingMapper.toDto(bookingStatusService.changeStatus(id, status)));
+    }
+}
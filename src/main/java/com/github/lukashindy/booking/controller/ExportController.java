@@ -0,0 +1,99 @@
+package com.github.lukashindy.booking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.lukashindy.booking.mapper.BookingMapper;
+import com.github.lukashindy.booking.mapper.RoomMapper;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/api/v1/export")
+@Profile("!reactive")
+public class ExportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportController.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomMapper roomMapper;
+
+    @Autowired
+    private BookingMapper bookingMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @GetMapping(value = "/rooms", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportRooms() {
+        logger.info("Exporting all rooms");
+
+        StreamingResponseBody body = out -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Room> rooms = roomRepository.streamAllWithDetails()) {
+                long count = rooms.mapToLong(room -> {
+                    writeLine(out, roomMapper.toDetailedDto(room));
+                    entityManager.detach(room);
+                    return 1;
+                }).sum();
+                logger.info("Exported {} rooms", count);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping(value = "/bookings", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportBookings() {
+        logger.info("Exporting all bookings");
+
+        StreamingResponseBody body = out -> transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Booking> bookings = bookingRepository.streamAll()) {
+                long count = bookings.mapToLong(booking -> {
+                    writeLine(out, bookingMapper.toDto(booking));
+                    entityManager.detach(booking);
+                    return 1;
+                }).sum();
+                logger.info("Exported {} bookings", count);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Каждая строка сразу уходит в выходной поток, список целиком в памяти не собирается
+    private void writeLine(OutputStream out, Object dto) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(dto));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,53 +1,123 @@
 package com.github.lukashindy.booking.controller;
 
+import com.github.lukashindy.booking.dto.CursorPageDto;
 import com.github.lukashindy.booking.dto.HotelDto;
+import com.github.lukashindy.booking.dto.OccupancyDto;
+import com.github.lukashindy.booking.exception.BadRequestException;
 import com.github.lukashindy.booking.exception.ResourceNotFoundException;
 import com.github.lukashindy.booking.mapper.HotelMapper;
 import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.repository.CatalogVersion;
 import com.github.lukashindy.booking.repository.HotelRepository;
+import com.github.lukashindy.booking.service.OccupancyService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/hotels")
+@Profile("!reactive")
 public class HotelController {
     
     private static final Logger logger = LoggerFactory.getLogger(HotelController.class);
     
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_OCCUPANCY_DAYS = 731;
+    
     @Autowired
     private HotelRepository hotelRepository;
     
     @Autowired
     private HotelMapper hotelMapper;
     
+    @Autowired
+    private OccupancyService occupancyService;
+    
     @GetMapping
-    public ResponseEntity<List<HotelDto>> getAllHotels() {
-        logger.info("Getting all hotels");
+    public ResponseEntity<CursorPageDto<HotelDto>> getAllHotels(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit,
+            WebRequest webRequest) {
+        logger.debug("Getting hotels after ID: {} (limit {})", after, limit);
+        validateLimit(limit);
+        long afterId = after != null ? after : 0L;
+        
+        // Условный GET: ETag страницы считается по версиям её строк, сами отели не загружаются
+        CatalogVersion version = CatalogVersion.combine(
+                hotelRepository.findCatalogVersionsByIdGreaterThan(afterId, Limit.of(limit + 1)));
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            logger.debug("Hotels after ID: {} not modified", after);
+            return null;
+        }
         
-        List<Hotel> hotels = hotelRepository.findAll();
+        // Keyset-пагинация: WHERE id > after ORDER BY id, стоимость не зависит от номера страницы
+        List<Hotel> hotels = hotelRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit + 1));
         List<HotelDto> hotelDtos = hotels.stream()
                 .map(hotelMapper::toDto)
                 .collect(Collectors.toList());
+        CursorPageDto<HotelDto> page = CursorPageDto.of(hotelDtos, limit, HotelDto::getId);
         
-        logger.info("Found {} hotels", hotelDtos.size());
-        return ResponseEntity.ok(hotelDtos);
+        logger.debug("Found {} hotels, next cursor: {}", page.getItems().size(), page.getNextCursor());
+        return ResponseEntity.ok(page);
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<HotelDto> getHotelById(@PathVariable Long id) {
-        logger.info("Getting hotel with ID: {}", id);
+        logger.debug("Getting hotel with ID: {}", id);
         
         Hotel hotel = hotelRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Hotel", "id", id));
         
         HotelDto hotelDto = hotelMapper.toDto(hotel);
-        logger.info("Found hotel: {}", hotelDto.getName());
+        logger.debug("Found hotel: {}", hotelDto);
         return ResponseEntity.ok(hotelDto);
     }
+    
+    @GetMapping("/{id}/occupancy")
+    public ResponseEntity<OccupancyDto> getOccupancy(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity) {
+        logger.debug("Getting occupancy for hotel ID: {} from {} to {} by {}", id, from, to, granularity);
+        if (!from.isBefore(to)) {
+            throw new BadRequestException(String.format("'from' (%s) must be before 'to' (%s)", from, to));
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_OCCUPANCY_DAYS) {
+            throw new BadRequestException(String.format("Date range must not exceed %d days", MAX_OCCUPANCY_DAYS));
+        }
+        OccupancyDto.Granularity period = parseGranularity(granularity);
+        
+        hotelRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Hotel", "id", id));
+        
+        return ResponseEntity.ok(occupancyService.getOccupancy(id, from, to, period));
+    }
+    
+    private OccupancyDto.Granularity parseGranularity(String granularity) {
+        try {
+            return OccupancyDto.Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("'granularity' must be one of day, week, month");
+        }
+    }
+    
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException(String.format("'limit' must be between 1 and %d", MAX_PAGE_SIZE));
+        }
+    }
 }
@@ -1,11 +1,13 @@
 package com.github.lukashindy.booking.controller;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequestMapping("/api/v1/hotel-owner")
+@Profile("!reactive")
 public class HotelOwnerController {
 
     @GetMapping("/hello")
@@ -0,0 +1,38 @@
+package com.github.lukashindy.booking.controller;
+
+import com.github.lukashindy.booking.service.OccupancyLedger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/admin/occupancy-ledger")
+@Profile("!reactive")
+public class OccupancyLedgerController {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyLedgerController.class);
+
+    @Autowired
+    private OccupancyLedger occupancyLedger;
+
+    @GetMapping("/check")
+    public ResponseEntity<List<OccupancyLedger.Mismatch>> check() {
+        logger.info("Checking occupancy ledger against bookings");
+        return ResponseEntity.ok(occupancyLedger.check());
+    }
+
+    @PostMapping("/rebuild")
+    public ResponseEntity<Map<String, Integer>> rebuild() {
+        logger.info("Rebuilding occupancy ledger");
+        return ResponseEntity.ok(Map.of("rows", occupancyLedger.rebuild()));
+    }
+}
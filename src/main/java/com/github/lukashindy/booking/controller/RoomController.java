@@ -1,80 +1,233 @@
 package com.github.lukashindy.booking.controller;
 
 import com.github.lukashindy.booking.dto.RoomDto;
+import com.github.lukashindy.booking.dto.RoomListingDto;
 import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
+import com.github.lukashindy.booking.exception.BadRequestException;
 import com.github.lukashindy.booking.exception.ResourceNotFoundException;
+import com.github.lukashindy.booking.mapper.HotelMapper;
 import com.github.lukashindy.booking.mapper.RoomMapper;
+import com.github.lukashindy.booking.mapper.RoomTypeMapper;
+import com.github.lukashindy.booking.model.Hotel;
 import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.CatalogVersion;
 import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.service.RoomCalendarIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/rooms")
+@Profile("!reactive")
 public class RoomController {
     
     private static final Logger logger = LoggerFactory.getLogger(RoomController.class);
     
+    public static final String COMPACT_JSON_VALUE = "application/vnd.booking.compact+json";
+    
+    private static final int MAX_BATCH_HOTELS = 500;
+    
     @Autowired
     private RoomRepository roomRepository;
     
     @Autowired
     private RoomMapper roomMapper;
     
+    @Autowired
+    private HotelMapper hotelMapper;
+    
+    @Autowired
+    private RoomTypeMapper roomTypeMapper;
+    
+    @Autowired
+    private RoomCalendarIndex roomCalendarIndex;
+    
     @GetMapping("/hotel/{hotelId}")
-    public ResponseEntity<List<RoomWithDetailsDto>> getRoomsByHotelId(@PathVariable Long hotelId) {
-        logger.info("Getting rooms for hotel ID: {}", hotelId);
+    public ResponseEntity<List<RoomWithDetailsDto>> getRoomsByHotelId(@PathVariable Long hotelId, WebRequest webRequest) {
+        logger.debug("Getting rooms for hotel ID: {}", hotelId);
+        
+        // При совпадении If-None-Match ответ 304 уже выставлен в webRequest, тело не нужно
+        CatalogVersion version = roomRepository.findCatalogVersionByHotelId(hotelId);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            logger.debug("Rooms for hotel ID: {} not modified", hotelId);
+            return null;
+        }
         
-        List<Room> rooms = roomRepository.findByHotelId(hotelId);
+        List<Room> rooms = roomRepository.findWithDetailsByHotelId(hotelId);
         List<RoomWithDetailsDto> roomDtos = rooms.stream()
                 .map(roomMapper::toDetailedDto)
                 .collect(Collectors.toList());
         
-        logger.info("Found {} rooms for hotel ID: {}", roomDtos.size(), hotelId);
+        logger.debug("Found {} rooms for hotel ID: {}", roomDtos.size(), hotelId);
         return ResponseEntity.ok(roomDtos);
     }
     
+    // Та же выборка в компактной форме: отель и типы комнат передаются один раз, а не в каждой комнате
+    @GetMapping(value = "/hotel/{hotelId}", produces = COMPACT_JSON_VALUE)
+    public ResponseEntity<RoomListingDto> getRoomListingByHotelId(@PathVariable Long hotelId, WebRequest webRequest) {
+        logger.debug("Getting compact room listing for hotel ID: {}", hotelId);
+        
+        CatalogVersion version = roomRepository.findCatalogVersionByHotelId(hotelId);
+        if (webRequest.checkNotModified(version.eTag("compact"), version.lastModifiedMillis())) {
+            logger.debug("Compact room listing for hotel ID: {} not modified", hotelId);
+            return null;
+        }
+        
+        List<Room> rooms = roomRepository.findWithDetailsByHotelId(hotelId);
+        RoomListingDto listing = new RoomListingDto();
+        listing.setHotels(uniqueById(rooms, Room::getHotel, Hotel::getId).stream()
+                .map(hotelMapper::toDto)
+                .collect(Collectors.toList()));
+        listing.setRoomTypes(uniqueById(rooms, Room::getRoomType, RoomType::getId).stream()
+                .map(roomTypeMapper::toDto)
+                .collect(Collectors.toList()));
+        listing.setRooms(rooms.stream()
+                .map(roomMapper::toDto)
+                .collect(Collectors.toList()));
+        
+        logger.debug("Found {} rooms of {} room types for hotel ID: {}",
+                listing.getRooms().size(), listing.getRoomTypes().size(), hotelId);
+        return ResponseEntity.ok(listing);
+    }
+    
+    // Комнаты нескольких отелей за один вызов: ?hotelIds=1,2,3. Ответ сгруппирован по отелю
+    // в порядке запроса; отель без комнат (или несуществующий) получает пустой список
+    @GetMapping("/hotel")
+    public ResponseEntity<Map<Long, List<RoomWithDetailsDto>>> getRoomsByHotelIds(@RequestParam List<Long> hotelIds) {
+        Set<Long> ids = new LinkedHashSet<>(hotelIds);
+        logger.debug("Getting rooms for {} hotels", ids.size());
+        validateHotelIds(ids);
+        
+        Map<Long, List<RoomWithDetailsDto>> roomsByHotel = new LinkedHashMap<>();
+        ids.forEach(id -> roomsByHotel.put(id, new ArrayList<>()));
+        for (Room room : roomRepository.findWithDetailsByHotelIdIn(ids)) {
+            roomsByHotel.get(room.getHotel().getId()).add(roomMapper.toDetailedDto(room));
+        }
+        
+        logger.debug("Found rooms for {} hotels", roomsByHotel.size());
+        return ResponseEntity.ok(roomsByHotel);
+    }
+    
     @GetMapping("/room-type/{roomTypeId}")
     public ResponseEntity<List<RoomWithDetailsDto>> getRoomsByRoomTypeId(@PathVariable Long roomTypeId) {
-        logger.info("Getting rooms for room type ID: {}", roomTypeId);
+        logger.debug("Getting rooms for room type ID: {}", roomTypeId);
         
-        List<Room> rooms = roomRepository.findByRoomTypeId(roomTypeId);
+        List<Room> rooms = roomRepository.findWithDetailsByRoomTypeId(roomTypeId);
         List<RoomWithDetailsDto> roomDtos = rooms.stream()
                 .map(roomMapper::toDetailedDto)
                 .collect(Collectors.toList());
         
-        logger.info("Found {} rooms for room type ID: {}", roomDtos.size(), roomTypeId);
+        logger.debug("Found {} rooms for room type ID: {}", roomDtos.size(), roomTypeId);
+        return ResponseEntity.ok(roomDtos);
+    }
+    
+    @GetMapping("/hotel/{hotelId}/available")
+    public ResponseEntity<List<RoomWithDetailsDto>> getAvailableRoomsByHotelId(
+            @PathVariable Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.debug("Getting available rooms for hotel ID: {} from {} to {}", hotelId, from, to);
+        validateDateRange(from, to);
+        
+        List<Room> rooms = roomCalendarIndex.covers(from, to)
+                ? freeRooms(roomRepository.findIdsByHotelId(hotelId), from, to)
+                : roomRepository.findAvailableByHotelId(hotelId, from, to);
+        List<RoomWithDetailsDto> roomDtos = rooms.stream()
+                .map(roomMapper::toDetailedDto)
+                .collect(Collectors.toList());
+        
+        logger.debug("Found {} available rooms for hotel ID: {}", roomDtos.size(), hotelId);
+        return ResponseEntity.ok(roomDtos);
+    }
+    
+    @GetMapping("/room-type/{roomTypeId}/available")
+    public ResponseEntity<List<RoomWithDetailsDto>> getAvailableRoomsByRoomTypeId(
+            @PathVariable Long roomTypeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.debug("Getting available rooms for room type ID: {} from {} to {}", roomTypeId, from, to);
+        validateDateRange(from, to);
+        
+        List<Room> rooms = roomCalendarIndex.covers(from, to)
+                ? freeRooms(roomRepository.findIdsByRoomTypeId(roomTypeId), from, to)
+                : roomRepository.findAvailableByRoomTypeId(roomTypeId, from, to);
+        List<RoomWithDetailsDto> roomDtos = rooms.stream()
+                .map(roomMapper::toDetailedDto)
+                .collect(Collectors.toList());
+        
+        logger.debug("Found {} available rooms for room type ID: {}", roomDtos.size(), roomTypeId);
         return ResponseEntity.ok(roomDtos);
     }
     
     @GetMapping("/{id}")
     public ResponseEntity<RoomWithDetailsDto> getRoomById(@PathVariable Long id) {
-        logger.info("Getting room with ID: {}", id);
+        logger.debug("Getting room with ID: {}", id);
         
-        Room room = roomRepository.findById(id)
+        Room room = roomRepository.findWithDetailsById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Room", "id", id));
         
         RoomWithDetailsDto roomDto = roomMapper.toDetailedDto(room);
-        logger.info("Found room: {}", roomDto.getRoomNumber());
+        logger.debug("Found room: {}", roomDto);
         return ResponseEntity.ok(roomDto);
     }
     
     @GetMapping
     public ResponseEntity<List<RoomDto>> getAllRooms() {
-        logger.info("Getting all rooms");
+        logger.debug("Getting all rooms");
         
         List<Room> rooms = roomRepository.findAll();
         List<RoomDto> roomDtos = rooms.stream()
                 .map(roomMapper::toDto)
                 .collect(Collectors.toList());
         
-        logger.info("Found {} rooms", roomDtos.size());
+        logger.debug("Found {} rooms", roomDtos.size());
         return ResponseEntity.ok(roomDtos);
     }
+    
+    // Свободные комнаты определяет календарь в памяти, сами комнаты с типом и отелем читаются одним запросом:
+    // поштучный find из кэша второго уровня при промахе давал до трех SELECT на комнату
+    private List<Room> freeRooms(List<Long> roomIds, LocalDate from, LocalDate to) {
+        List<Long> freeIds = roomCalendarIndex.findFree(roomIds, from, to);
+        return freeIds.isEmpty() ? List.of() : roomRepository.findWithDetailsByIdIn(freeIds);
+    }
+    
+    // Связи сравниваются по id: equals/hashCode из @Data обошёл бы их ленивые поля
+    private static <T> Collection<T> uniqueById(List<Room> rooms, Function<Room, T> relation, Function<T, Long> id) {
+        Map<Long, T> unique = new LinkedHashMap<>();
+        for (Room room : rooms) {
+            T related = relation.apply(room);
+            unique.putIfAbsent(id.apply(related), related);
+        }
+        return unique.values();
+    }
+    
+    private void validateHotelIds(Set<Long> hotelIds) {
+        if (hotelIds.size() > MAX_BATCH_HOTELS) {
+            throw new BadRequestException(String.format("'hotelIds' must contain at most %d hotels", MAX_BATCH_HOTELS));
+        }
+    }
+    
+    private void validateDateRange(LocalDate from, LocalDate to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException(String.format("'from' (%s) must be before 'to' (%s)", from, to));
+        }
+    }
 }
@@ -1,25 +1,41 @@
 package com.github.lukashindy.booking.controller;
 
+import com.github.lukashindy.booking.dto.CursorPageDto;
 import com.github.lukashindy.booking.dto.RoomTypeDto;
+import com.github.lukashindy.booking.exception.BadRequestException;
 import com.github.lukashindy.booking.exception.ResourceNotFoundException;
 import com.github.lukashindy.booking.mapper.RoomTypeMapper;
 import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.CatalogVersion;
 import com.github.lukashindy.booking.repository.RoomTypeRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/room-types")
+@Profile("!reactive")
 public class RoomTypeController {
     
     private static final Logger logger = LoggerFactory.getLogger(RoomTypeController.class);
     
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_HOTELS = 500;
+    
     @Autowired
     private RoomTypeRepository roomTypeRepository;
     
@@ -27,40 +43,81 @@ public class RoomTypeController {
     private RoomTypeMapper roomTypeMapper;
     
     @GetMapping("/hotel/{hotelId}")
-    public ResponseEntity<List<RoomTypeDto>> getRoomTypesByHotelId(@PathVariable Long hotelId) {
-        logger.info("Getting room types for hotel ID: {}", hotelId);
+    public ResponseEntity<List<RoomTypeDto>> getRoomTypesByHotelId(@PathVariable Long hotelId, WebRequest webRequest) {
+        logger.debug("Getting room types for hotel ID: {}", hotelId);
+        
+        CatalogVersion version = roomTypeRepository.findCatalogVersionByHotelId(hotelId);
+        if (webRequest.checkNotModified(version.eTag(), version.lastModifiedMillis())) {
+            logger.debug("Room types for hotel ID: {} not modified", hotelId);
+            return null;
+        }
         
         List<RoomType> roomTypes = roomTypeRepository.findByHotelId(hotelId);
         List<RoomTypeDto> roomTypeDtos = roomTypes.stream()
                 .map(roomTypeMapper::toDto)
                 .collect(Collectors.toList());
         
-        logger.info("Found {} room types for hotel ID: {}", roomTypeDtos.size(), hotelId);
+        logger.debug("Found {} room types for hotel ID: {}", roomTypeDtos.size(), hotelId);
         return ResponseEntity.ok(roomTypeDtos);
     }
     
+    // Типы комнат нескольких отелей за один вызов: ?hotelIds=1,2,3, сгруппированы по отелю в порядке запроса
+    @GetMapping("/hotel")
+    public ResponseEntity<Map<Long, List<RoomTypeDto>>> getRoomTypesByHotelIds(@RequestParam List<Long> hotelIds) {
+        Set<Long> ids = new LinkedHashSet<>(hotelIds);
+        logger.debug("Getting room types for {} hotels", ids.size());
+        validateHotelIds(ids);
+        
+        Map<Long, List<RoomTypeDto>> roomTypesByHotel = new LinkedHashMap<>();
+        ids.forEach(id -> roomTypesByHotel.put(id, new ArrayList<>()));
+        for (RoomType roomType : roomTypeRepository.findByHotelIdIn(ids)) {
+            roomTypesByHotel.get(roomType.getHotel().getId()).add(roomTypeMapper.toDto(roomType));
+        }
+        
+        logger.debug("Found room types for {} hotels", roomTypesByHotel.size());
+        return ResponseEntity.ok(roomTypesByHotel);
+    }
+    
     @GetMapping("/{id}")
     public ResponseEntity<RoomTypeDto> getRoomTypeById(@PathVariable Long id) {
-        logger.info("Getting room type with ID: {}", id);
+        logger.debug("Getting room type with ID: {}", id);
         
         RoomType roomType = roomTypeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("RoomType", "id", id));
         
         RoomTypeDto roomTypeDto = roomTypeMapper.toDto(roomType);
-        logger.info("Found room type: {}", roomTypeDto.getName());
+        logger.debug("Found room type: {}", roomTypeDto);
         return ResponseEntity.ok(roomTypeDto);
     }
     
     @GetMapping
-    public ResponseEntity<List<RoomTypeDto>> getAllRoomTypes() {
-        logger.info("Getting all room types");
+    public ResponseEntity<CursorPageDto<RoomTypeDto>> getAllRoomTypes(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        logger.debug("Getting room types after ID: {} (limit {})", after, limit);
+        validateLimit(limit);
         
-        List<RoomType> roomTypes = roomTypeRepository.findAll();
+        // Keyset-пагинация: WHERE id > after ORDER BY id, стоимость не зависит от номера страницы
+        List<RoomType> roomTypes = roomTypeRepository.findByIdGreaterThanOrderByIdAsc(
+                after != null ? after : 0L, Limit.of(limit + 1));
         List<RoomTypeDto> roomTypeDtos = roomTypes.stream()
                 .map(roomTypeMapper::toDto)
                 .collect(Collectors.toList());
+        CursorPageDto<RoomTypeDto> page = CursorPageDto.of(roomTypeDtos, limit, RoomTypeDto::getId);
         
-        logger.info("Found {} room types", roomTypeDtos.size());
-        return ResponseEntity.ok(roomTypeDtos);
+        logger.debug("Found {} room types, next cursor: {}", page.getItems().size(), page.getNextCursor());
+        return ResponseEntity.ok(page);
+    }
+    
+    private void validateHotelIds(Set<Long> hotelIds) {
+        if (hotelIds.size() > MAX_BATCH_HOTELS) {
+            throw new BadRequestException(String.format("'hotelIds' must contain at most %d hotels", MAX_BATCH_HOTELS));
+        }
+    }
+    
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException(String.format("'limit' must be between 1 and %d", MAX_PAGE_SIZE));
+        }
     }
 }
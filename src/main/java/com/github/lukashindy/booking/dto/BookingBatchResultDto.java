@@ -0,0 +1,27 @@
+package com.github.lukashindy.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchResultDto {
+    private int index;
+    private Long bookingId;
+    private Outcome outcome;
+    private String reason;
+
+    public enum Outcome {
+        ACCEPTED, REJECTED
+    }
+
+    public static BookingBatchResultDto accepted(int index, Long bookingId) {
+        return new BookingBatchResultDto(index, bookingId, Outcome.ACCEPTED, null);
+    }
+
+    public static BookingBatchResultDto rejected(int index, String reason) {
+        return new BookingBatchResultDto(index, null, Outcome.REJECTED, reason);
+    }
+}
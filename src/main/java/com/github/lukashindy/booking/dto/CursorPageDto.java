@@ -0,0 +1,25 @@
+package com.github.lukashindy.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> items;
+    private Long nextCursor;
+
+    // Ожидает выборку размером limit + 1: лишний элемент означает, что есть следующая страница
+    public static <T> CursorPageDto<T> of(List<T> fetched, int limit, Function<T, Long> idExtractor) {
+        if (fetched.size() <= limit) {
+            return new CursorPageDto<>(fetched, null);
+        }
+        List<T> page = fetched.subList(0, limit);
+        return new CursorPageDto<>(page, idExtractor.apply(page.get(limit - 1)));
+    }
+}
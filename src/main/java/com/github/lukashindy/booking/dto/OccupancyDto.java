@@ -0,0 +1,19 @@
+package com.github.lukashindy.booking.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class OccupancyDto {
+    private Long hotelId;
+    private LocalDate from;
+    private LocalDate to;
+    private Granularity granularity;
+    private List<RoomTypeOccupancyDto> roomTypes;
+
+    public enum Granularity {
+        DAY, WEEK, MONTH
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.lukashindy.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Занятость за период [start, end): занятые и доступные номеро-ночи и их отношение.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccupancyPeriodDto {
+    private LocalDate start;
+    private LocalDate end;
+    private long occupiedRoomNights;
+    private long availableRoomNights;
+    private double rate;
+}
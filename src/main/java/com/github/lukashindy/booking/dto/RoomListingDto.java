@@ -0,0 +1,16 @@
+package com.github.lukashindy.booking.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Компактная форма списка комнат: отели и типы комнат передаются один раз,
+ * комнаты ссылаются на них по hotelId и roomTypeId.
+ */
+@Data
+public class RoomListingDto {
+    private List<HotelDto> hotels;
+    private List<RoomTypeDto> roomTypes;
+    private List<RoomDto> rooms;
+}
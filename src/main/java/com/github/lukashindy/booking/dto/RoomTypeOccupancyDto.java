@@ -0,0 +1,13 @@
+package com.github.lukashindy.booking.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class RoomTypeOccupancyDto {
+    private Long roomTypeId;
+    private String name;
+    private int rooms;
+    private List<OccupancyPeriodDto> periods;
+}
@@ -0,0 +1,13 @@
+package com.github.lukashindy.booking.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// В профиле reactive GlobalExceptionHandler не подключается, код ответа WebFlux берет из аннотации
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BadRequestException extends RuntimeException {
+    
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
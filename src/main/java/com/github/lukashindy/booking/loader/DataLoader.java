@@ -8,6 +8,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Component
 public class DataLoader implements CommandLineRunner {
     
@@ -25,8 +28,23 @@ public class DataLoader implements CommandLineRunner {
     @Autowired
     private RoomRepository roomRepository;
     
+    @Autowired
+    private SyntheticDataSeeder syntheticDataSeeder;
+    
     @Override
     public void run(String... args) throws Exception {
+        // База уже заполнена (постоянное хранилище или повторный запуск) — ничего не создаем
+        if (hotelRepository.count() > 0) {
+            logger.info("Data already present, skipping data loading");
+            return;
+        }
+        
+        // Синтетический набор для нагрузочного тестирования (booking.seed.hotels > 0)
+        if (syntheticDataSeeder.isEnabled()) {
+            syntheticDataSeeder.seed();
+            return;
+        }
+        
         logger.info("Starting data loading...");
         
         // Создаем администратора (HotelOwner)
@@ -112,13 +130,18 @@ public class DataLoader implements CommandLineRunner {
         
         logger.info("Creating {} rooms for type '{}'", roomCount, typeName);
         
+        // Комнаты сохраняются одним saveAll: INSERT'ы уходят JDBC batch'ами
+        List<Room> rooms = new ArrayList<>(roomCount);
         for (int i = 1; i <= roomCount; i++) {
             Room room = new Room();
             room.setRoomNumber(generateRoomNumber(typeName, i));
             room.setRoomType(roomType);
             room.setHotel(hotel);
-            
-            Room savedRoom = roomRepository.save(room);
+            rooms.add(room);
+        }
+        
+        List<Room> savedRooms = roomRepository.saveAll(rooms);
+        for (Room savedRoom : savedRooms) {
             logger.debug("Room {} created with ID: {}", savedRoom.getRoomNumber(), savedRoom.getId());
         }
         
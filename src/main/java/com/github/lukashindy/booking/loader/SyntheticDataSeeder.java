@@ -0,0 +1,206 @@
+package com.github.lukashindy.booking.loader;
+
+import com.github.lukashindy.booking.model.Booking.Status;
+import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.repository.HotelOwnerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Синтетический набор данных для нагрузочного тестирования: hotels отелей, в каждом
+ * room-types-per-hotel типов по rooms-per-type комнат и bookings-per-room непересекающихся броней
+ * на комнату в окне из days ночей вокруг сегодняшнего дня.
+ * <p>
+ * Отели пишутся параллельно, каждый в своей транзакции, JDBC batch'ами в обход JPA.
+ * Id вычисляются из номера отеля, поэтому потокам не нужно согласовывать их между собой;
+ * последовательности Hibernate затем сдвигаются за выданные id. Набор воспроизводим: случайные
+ * даты и статусы каждого отеля берутся из генератора с зерном seed + номер отеля.
+ */
+@Component
+public class SyntheticDataSeeder {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataSeeder.class);
+
+    // allocationSize последовательностей в сущностях
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final String[] ROOM_TYPE_NAMES = {
+            "Standard", "Standard Sea View", "Deluxe", "Comfort", "King Size", "Presidential", "Economic"
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HotelOwnerRepository hotelOwnerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${booking.seed.hotels:0}")
+    private int hotels;
+
+    @Value("${booking.seed.room-types-per-hotel:5}")
+    private int roomTypesPerHotel;
+
+    @Value("${booking.seed.rooms-per-type:100}")
+    private int roomsPerType;
+
+    @Value("${booking.seed.bookings-per-room:4}")
+    private int bookingsPerRoom;
+
+    @Value("${booking.seed.days:365}")
+    private int days;
+
+    @Value("${booking.seed.threads:4}")
+    private int threads;
+
+    @Value("${booking.seed.seed:42}")
+    private long seed;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    /**
+     * Включён ли синтетический набор вместо демонстрационного отеля DataLoader.
+     */
+    public boolean isEnabled() {
+        return hotels > 0;
+    }
+
+    /**
+     * Заполняет пустую базу. Возвращает число вставленных строк (отели, типы, комнаты, брони и занятость по ночам).
+     */
+    public long seed() {
+        if (days < bookingsPerRoom) {
+            throw new IllegalStateException("booking.seed.days must be at least booking.seed.bookings-per-room");
+        }
+        long started = System.nanoTime();
+        logger.info("Seeding {} hotels x {} room types x {} rooms x {} bookings on {} threads",
+                hotels, roomTypesPerHotel, roomsPerType, bookingsPerRoom, threads);
+
+        HotelOwner owner = new HotelOwner();
+        owner.setName("Load Test Owner");
+        owner.setEmail("loadtest@example.com");
+        owner.setRole("ADMIN");
+        Long ownerId = hotelOwnerRepository.save(owner).getId();
+
+        LocalDate today = LocalDate.now(clock);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long rows = 0;
+        try {
+            List<Future<Integer>> results = new ArrayList<>(hotels);
+            for (int hotel = 0; hotel < hotels; hotel++) {
+                int hotelIndex = hotel;
+                results.add(executor.submit(() -> transactionTemplate.execute(
+                        status -> seedHotel(hotelIndex, ownerId, today))));
+            }
+            for (Future<Integer> result : results) {
+                rows += result.get();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Synthetic data seeding failed", e);
+        } finally {
+            executor.shutdown();
+        }
+
+        long roomTypes = (long) hotels * roomTypesPerHotel;
+        long rooms = roomTypes * roomsPerType;
+        restartSequence("hotel_seq", hotels);
+        restartSequence("room_type_seq", roomTypes);
+        restartSequence("room_seq", rooms);
+        restartSequence("booking_seq", rooms * bookingsPerRoom);
+        jdbcTemplate.update("insert into room_calendar (room_id) select id from room");
+
+        logger.info("Seeded {} rows in {} ms", rows, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private int seedHotel(int hotel, Long ownerId, LocalDate today) {
+        SplittableRandom random = new SplittableRandom(seed + hotel);
+        long hotelId = hotel + 1L;
+        jdbcTemplate.update("insert into hotel (id, owner_id, name, country, city, street) values (?, ?, ?, ?, ?, ?)",
+                hotelId, ownerId, "Hotel " + hotelId, "Country " + hotel % 50, "City " + hotel % 500, "Street " + hotelId);
+
+        List<Object[]> roomTypes = new ArrayList<>(roomTypesPerHotel);
+        List<Object[]> rooms = new ArrayList<>(roomTypesPerHotel * roomsPerType);
+        List<Object[]> bookings = new ArrayList<>(roomTypesPerHotel * roomsPerType * bookingsPerRoom);
+        List<Object[]> occupancy = new ArrayList<>();
+        LocalDate from = today.minusDays(days / 2);
+        for (int type = 0; type < roomTypesPerHotel; type++) {
+            long roomTypeId = (long) hotel * roomTypesPerHotel + type + 1;
+            roomTypes.add(new Object[]{roomTypeId, hotelId, ROOM_TYPE_NAMES[type % ROOM_TYPE_NAMES.length], 1 + type % 4});
+            // Типы комнат принадлежат одному отелю, так что строки room_type_day_occupancy
+            // считаются здесь же по ночам окна, без общего пересчёта OccupancyLedger.rebuild
+            int[] occupied = new int[days];
+            for (int room = 0; room < roomsPerType; room++) {
+                long roomId = (roomTypeId - 1) * roomsPerType + room + 1;
+                rooms.add(new Object[]{roomId, roomTypeId, hotelId, (type + 1) + "-" + (room + 1)});
+                addBookings(bookings, roomId, from, today, random, occupied);
+            }
+            for (int night = 0; night < days; night++) {
+                if (occupied[night] > 0) {
+                    occupancy.add(new Object[]{roomTypeId, Date.valueOf(from.plusDays(night)), occupied[night]});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into room_type (id, hotel_id, name, capacity) values (?, ?, ?, ?)", roomTypes);
+        jdbcTemplate.batchUpdate("insert into room (id, room_type_id, hotel_id, room_number) values (?, ?, ?, ?)", rooms);
+        jdbcTemplate.batchUpdate("insert into booking (id, room_id, client_id, check_in_date, check_out_date, status) " +
+                "values (?, ?, ?, ?, ?, ?)", bookings);
+        jdbcTemplate.batchUpdate("insert into room_type_day_occupancy (room_type_id, stay_date, occupied) values (?, ?, ?)",
+                occupancy);
+        logger.debug("Seeded hotel {}: {} rooms, {} bookings", hotelId, rooms.size(), bookings.size());
+        return 1 + roomTypes.size() + rooms.size() + bookings.size() + occupancy.size();
+    }
+
+    // Окно делится на bookingsPerRoom отрезков, в каждом одна бронь: брони комнаты не пересекаются
+    private void addBookings(List<Object[]> bookings, long roomId, LocalDate from, LocalDate today,
+                             SplittableRandom random, int[] occupied) {
+        int slot = days / bookingsPerRoom;
+        for (int i = 0; i < bookingsPerRoom; i++) {
+            int nights = 1 + random.nextInt(Math.min(7, slot));
+            int firstNight = i * slot + random.nextInt(slot - nights + 1);
+            LocalDate checkIn = from.plusDays(firstNight);
+            LocalDate checkOut = checkIn.plusDays(nights);
+            Status status;
+            if (random.nextInt(20) == 0) {
+                status = Status.CANCELLED;
+            } else if (checkOut.isBefore(today)) {
+                status = Status.COMPLETED;
+            } else {
+                status = random.nextInt(10) == 0 ? Status.CREATED : Status.CONFIRMED;
+            }
+            if (status != Status.CANCELLED) {
+                for (int night = firstNight; night < firstNight + nights; night++) {
+                    occupied[night]++;
+                }
+            }
+            bookings.add(new Object[]{(roomId - 1) * bookingsPerRoom + i + 1, roomId,
+                    new UUID(random.nextLong(), random.nextLong()), Date.valueOf(checkIn), Date.valueOf(checkOut),
+                    status.name()});
+        }
+    }
+
+    // С запасом в allocationSize: оптимизатор pooled берёт значение последовательности как границу блока id
+    private void restartSequence(String sequence, long maxId) {
+        jdbcTemplate.execute("alter sequence " + sequence + " restart with " + (maxId + ALLOCATION_SIZE + 1));
+    }
+}
@@ -25,6 +25,8 @@ public interface HotelMapper {
     @Mapping(source = "city", target = "city")
     @Mapping(source = "street", target = "street")
     @Mapping(source = "ownerId", target = "owner")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Hotel toEntity(HotelDto dto);
 
     default HotelOwner map(Long ownerId) {
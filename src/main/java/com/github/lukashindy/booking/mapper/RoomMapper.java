@@ -31,6 +31,8 @@ public interface RoomMapper {
     @Mapping(source = "roomNumber", target = "roomNumber")
     @Mapping(source = "roomTypeId", target = "roomType", qualifiedByName = "mapRoomType")
     @Mapping(source = "hotelId", target = "hotel", qualifiedByName = "mapHotel")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     Room toEntity(RoomDto dto);
 
     @org.mapstruct.Named("mapRoomType")
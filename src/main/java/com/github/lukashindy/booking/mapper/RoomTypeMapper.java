@@ -19,6 +19,8 @@ public interface RoomTypeMapper {
     @Mapping(source = "name", target = "name")
     @Mapping(source = "capacity", target = "capacity")
     @Mapping(source = "hotelId", target = "hotel", qualifiedByName = "mapHotel")
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
     RoomType toEntity(RoomTypeDto dto);
 
     @Named("mapHotel")
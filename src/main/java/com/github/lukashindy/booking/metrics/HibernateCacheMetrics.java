@@ -0,0 +1,46 @@
+package com.github.lukashindy.booking.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+/**
+ * Публикует попадания, промахи, записи и вытеснения каждого региона кэша второго уровня Hibernate
+ * (cache.gets, cache.puts, cache.evictions, cache.removals с тегом cache = имя региона).
+ * Счетчики берутся из статистики JCache (monitoring.statistics в hibernate-jcache.conf),
+ * hibernate.generate_statistics для этого не нужен.
+ */
+@Component
+public class HibernateCacheMetrics implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(HibernateCacheMetrics.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if (!(sessionFactory.getCache().getRegionFactory() instanceof JCacheRegionFactory regionFactory)) {
+            logger.info("Second-level cache is not backed by JCache, region metrics are not published");
+            return;
+        }
+        // Регионы создаются вместе с SessionFactory, к моменту привязки все кэши уже есть
+        CacheManager cacheManager = regionFactory.getCacheManager();
+        for (String name : cacheManager.getCacheNames()) {
+            Cache<Object, Object> cache = cacheManager.getCache(name);
+            JCacheMetrics.monitor(registry, cache, Tags.of("cache.manager", "hibernate"));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.github.lukashindy.booking.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Пишет размер результата каждого метода репозитория в distribution summary repository.result.size.
+ * Время выполнения тех же вызовов снимает Spring Boot (spring.data.repository.invocations).
+ */
+@Aspect
+@Component
+public class RepositoryResultSizeAspect {
+
+    static final String METRIC_NAME = "repository.result.size";
+
+    private static final String REPOSITORY_PACKAGE = "com.github.lukashindy.booking.repository";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Builder и поиск в реестре на каждом вызове finder'а не нужны: метр один на пару репозиторий + метод
+    private final Map<MeterKey, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Around("execution(* com.github.lukashindy.booking.repository.*Repository+.find*(..))")
+    public Object recordResultSize(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+
+        MeterKey key = new MeterKey(joinPoint.getTarget().getClass(), ((MethodSignature) joinPoint.getSignature()).getMethod());
+        summaries.computeIfAbsent(key, k -> register(joinPoint)).record(sizeOf(result));
+        return result;
+    }
+
+    private DistributionSummary register(ProceedingJoinPoint joinPoint) {
+        return DistributionSummary.builder(METRIC_NAME)
+                .description("Number of entities returned by a repository method")
+                .baseUnit("rows")
+                .tag("repository", repositoryName(joinPoint))
+                .tag("method", joinPoint.getSignature().getName())
+                .register(meterRegistry);
+    }
+
+    // Потоковые методы (stream*) в срез не попадают: их размер известен только после чтения
+    private long sizeOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+
+    private String repositoryName(ProceedingJoinPoint joinPoint) {
+        // Цель — JDK-прокси Spring Data, интерфейс репозитория берём из его интерфейсов
+        for (Class<?> type : joinPoint.getTarget().getClass().getInterfaces()) {
+            if (type.getPackageName().equals(REPOSITORY_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return joinPoint.getSignature().getDeclaringType().getSimpleName();
+    }
+
+    // Класс прокси различает репозитории с общим унаследованным методом (findById из CrudRepository)
+    private record MeterKey(Class<?> target, Method method) {
+    }
+}
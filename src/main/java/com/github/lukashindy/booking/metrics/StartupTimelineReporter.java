@@ -0,0 +1,49 @@
+package com.github.lukashindy.booking.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Пишет в лог самые долгие фазы старта (создание бинов, refresh контекста и т.п.).
+ * Фазы записывает BufferingApplicationStartup из main; полная шкала доступна в /actuator/startup.
+ */
+@Component
+public class StartupTimelineReporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupTimelineReporter.class);
+
+    @Value("${booking.startup.report-steps:10}")
+    private int reportSteps;
+
+    @EventListener
+    public void report(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        StartupTimeline timeline = startup.getBufferedTimeline();
+        logger.info("Application ready in {} ms, {} startup steps recorded",
+                event.getTimeTaken().toMillis(), timeline.getEvents().size());
+        timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(reportSteps)
+                .forEach(step -> logger.info("  {} ms {} {}", step.getDuration().toMillis(),
+                        step.getStartupStep().getName(), tags(step.getStartupStep())));
+    }
+
+    private String tags(StartupStep step) {
+        return StreamSupport.stream(step.getTags().spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
@@ -2,11 +2,16 @@ package com.github.lukashindy.booking.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class HotelOwner {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hotel_owner_seq")
+    @SequenceGenerator(name = "hotel_owner_seq", sequenceName = "hotel_owner_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -0,0 +1,18 @@
+package com.github.lukashindy.booking.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Строка-страж календаря комнаты: её версия повышается каждой транзакцией, создающей брони комнаты.
+ */
+@Entity
+@Table(name = "room_calendar")
+@Data
+public class RoomCalendar {
+    @Id
+    private Long roomId;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,31 @@
+package com.github.lukashindy.booking.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "room_type_day_occupancy")
+@IdClass(RoomTypeDayOccupancy.Key.class)
+@Data
+public class RoomTypeDayOccupancy {
+    @Id
+    private Long roomTypeId;
+
+    @Id
+    private LocalDate stayDate;
+
+    private int occupied;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long roomTypeId;
+        private LocalDate stayDate;
+    }
+}
@@ -0,0 +1,9 @@
+package com.github.lukashindy.booking.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Количество броней типа комнаты, начинающихся (или заканчивающихся) в указанную дату.
+ */
+public record BookingDateCount(Long roomTypeId, LocalDate date, long count) {
+}
@@ -1,9 +1,63 @@
 package com.github.lukashindy.booking.repository;
 
 import com.github.lukashindy.booking.model.Booking;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select b from Booking b order by b.id")
+    Stream<Booking> streamAll();
+
+    // Строка брони блокируется (FOR UPDATE) до конца транзакции: параллельная смена статуса той же брони ждёт
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Booking b where b.id = :id")
+    Optional<Booking> findForUpdateById(@Param("id") Long id);
+
+    // Ночи всех неотменённых броней указанных комнат, пересекающихся с [from, to), одним запросом.
+    // Только комната и даты: сущности тянули бы @Lob-поля каждой брони по всему окну пачки
+    @Query("select new com.github.lukashindy.booking.repository.RoomStay(b.room.id, b.checkInDate, b.checkOutDate) " +
+           "from Booking b where b.room.id in :roomIds " +
+           "and b.checkInDate < :to and b.checkOutDate > :from " +
+           "and b.status <> com.github.lukashindy.booking.model.Booking.Status.CANCELLED")
+    List<RoomStay> findActiveStaysOverlapping(@Param("roomIds") Collection<Long> roomIds,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to);
+
+    // Неотменённые брони, пересекающиеся с [from, to), без загрузки сущностей: для календаря комнат
+    @Query("select new com.github.lukashindy.booking.repository.RoomStay(b.room.id, b.checkInDate, b.checkOutDate) " +
+           "from Booking b where b.checkInDate < :to and b.checkOutDate > :from " +
+           "and b.status <> com.github.lukashindy.booking.model.Booking.Status.CANCELLED")
+    List<RoomStay> findActiveStaysBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Заезды и выезды неотменённых броней по типам комнат, сгруппированные по дате:
+    // по ним занятость на каждую ночь восстанавливается без выборки самих броней
+    @Query("select new com.github.lukashindy.booking.repository.BookingDateCount(r.roomType.id, b.checkInDate, count(b)) " +
+           "from Booking b join b.room r where r.roomType.id in :roomTypeIds " +
+           "and b.status <> com.github.lukashindy.booking.model.Booking.Status.CANCELLED " +
+           "group by r.roomType.id, b.checkInDate")
+    List<BookingDateCount> findCheckInCountsByRoomTypeIds(@Param("roomTypeIds") Collection<Long> roomTypeIds);
+
+    @Query("select new com.github.lukashindy.booking.repository.BookingDateCount(r.roomType.id, b.checkOutDate, count(b)) " +
+           "from Booking b join b.room r where r.roomType.id in :roomTypeIds " +
+           "and b.status <> com.github.lukashindy.booking.model.Booking.Status.CANCELLED " +
+           "group by r.roomType.id, b.checkOutDate")
+    List<BookingDateCount> findCheckOutCountsByRoomTypeIds(@Param("roomTypeIds") Collection<Long> roomTypeIds);
 }
@@ -0,0 +1,45 @@
+package com.github.lukashindy.booking.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Сводная версия набора строк каталога: количество, сумма id, сумма @Version и последнее изменение.
+ * Любая правка увеличивает сумму версий, удаление уменьшает количество, а новые id
+ * из последовательности всегда больше удалённых, поэтому ETag меняется при каждом изменении набора.
+ */
+public record CatalogVersion(long count, long idSum, long versionSum, Instant updatedAt) {
+
+    public static CatalogVersion combine(List<CatalogVersion> versions) {
+        long count = 0;
+        long idSum = 0;
+        long versionSum = 0;
+        Instant updatedAt = null;
+        for (CatalogVersion version : versions) {
+            count += version.count;
+            idSum += version.idSum;
+            versionSum += version.versionSum;
+            if (updatedAt == null || (version.updatedAt != null && version.updatedAt.isAfter(updatedAt))) {
+                updatedAt = version.updatedAt;
+            }
+        }
+        return new CatalogVersion(count, idSum, versionSum, updatedAt);
+    }
+
+    // Слабый валидатор: gzip, JSON, CBOR и Smile — равнозначные представления одних данных,
+    // а Tomcat не сжимает ответы с сильным ETag (noCompressionStrongETag)
+    public String eTag() {
+        return eTag("v");
+    }
+
+    // Другое представление тех же данных (например, компактная форма) должно иметь свой ETag
+    public String eTag(String representation) {
+        return "W/\"" + representation + "-" + Long.toHexString(count) + "-" + Long.toHexString(idSum)
+                + "-" + Long.toHexString(versionSum) + "\"";
+    }
+
+    // -1 означает «нет Last-Modified» для WebRequest.checkNotModified
+    public long lastModifiedMillis() {
+        return updatedAt != null ? updatedAt.toEpochMilli() : -1;
+    }
+}
@@ -1,9 +1,24 @@
 package com.github.lukashindy.booking.repository;
 
 import com.github.lukashindy.booking.model.Hotel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface HotelRepository extends JpaRepository<Hotel, Long> {
+    List<Hotel> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Версии строк той же страницы, что и findByIdGreaterThanOrderByIdAsc: по ним считается ETag
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.github.lukashindy.booking.repository.CatalogVersion(1L, h.id, h.version, h.updatedAt) " +
+           "from Hotel h where h.id > :after order by h.id")
+    List<CatalogVersion> findCatalogVersionsByIdGreaterThan(@Param("after") Long after, Limit limit);
 }
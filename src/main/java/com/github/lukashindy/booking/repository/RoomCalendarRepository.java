@@ -0,0 +1,20 @@
+package com.github.lukashindy.booking.repository;
+
+import com.github.lukashindy.booking.model.RoomCalendar;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RoomCalendarRepository extends JpaRepository<RoomCalendar, Long> {
+    // Строки не блокируются (это не FOR UPDATE): при коммите версия каждой повышается с проверкой прочитанного значения
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select c from RoomCalendar c where c.roomId in :roomIds")
+    List<RoomCalendar> findWithVersionIncrementByRoomIdIn(@Param("roomIds") Collection<Long> roomIds);
+}
@@ -1,13 +1,103 @@
 package com.github.lukashindy.booking.repository;
 
 import com.github.lukashindy.booking.model.Room;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RoomRepository extends JpaRepository<Room, Long> {
-    List<Room> findByHotelId(Long hotelId);
-    List<Room> findByRoomTypeId(Long roomTypeId);
+    // Явный JPQL: производный запрос делает left join к hotel/room_type и фильтрует
+    // по его id, из-за чего индекс по внешнему ключу не используется
+    // Результат кешируется в кэше запросов; Hibernate инвалидирует его при любой записи в room
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select r from Room r where r.hotel.id = :hotelId")
+    List<Room> findByHotelId(@Param("hotelId") Long hotelId);
+
+    @Query("select r from Room r where r.roomType.id = :roomTypeId")
+    List<Room> findByRoomTypeId(@Param("roomTypeId") Long roomTypeId);
+
+    // Детальные выборки подтягивают roomType и hotel одним запросом (без N+1)
+    @EntityGraph(attributePaths = {"roomType", "hotel"})
+    @Query("select r from Room r where r.hotel.id = :hotelId")
+    List<Room> findWithDetailsByHotelId(@Param("hotelId") Long hotelId);
+
+    // Комнаты нескольких отелей одним запросом со списком in (для пакетного эндпоинта)
+    @EntityGraph(attributePaths = {"roomType", "hotel"})
+    @Query("select r from Room r where r.hotel.id in :hotelIds order by r.id")
+    List<Room> findWithDetailsByHotelIdIn(@Param("hotelIds") Collection<Long> hotelIds);
+
+    // Версия того же ответа: в детальный DTO входят поля типа комнаты и отеля, поэтому учитываются и их версии
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.github.lukashindy.booking.repository.CatalogVersion(" +
+           "count(r), coalesce(sum(r.id), 0L), coalesce(sum(r.version + rt.version + h.version), 0L), " +
+           "greatest(max(r.updatedAt), max(rt.updatedAt), max(h.updatedAt))) " +
+           "from Room r join r.roomType rt join r.hotel h where r.hotel.id = :hotelId")
+    CatalogVersion findCatalogVersionByHotelId(@Param("hotelId") Long hotelId);
+
+    @EntityGraph(attributePaths = {"roomType", "hotel"})
+    @Query("select r from Room r where r.roomType.id = :roomTypeId")
+    List<Room> findWithDetailsByRoomTypeId(@Param("roomTypeId") Long roomTypeId);
+
+    @EntityGraph(attributePaths = {"roomType", "hotel"})
+    Optional<Room> findWithDetailsById(Long id);
+
+    // Свободные комнаты, отобранные календарем: одним запросом вместе с типом и отелем
+    @EntityGraph(attributePaths = {"roomType", "hotel"})
+    @Query("select r from Room r where r.id in :ids order by r.id")
+    List<Room> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Кандидаты для календаря комнат: id из кэша запросов
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select r.id from Room r where r.hotel.id = :hotelId order by r.id")
+    List<Long> findIdsByHotelId(@Param("hotelId") Long hotelId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select r.id from Room r where r.roomType.id = :roomTypeId order by r.id")
+    List<Long> findIdsByRoomTypeId(@Param("roomTypeId") Long roomTypeId);
+
+    // Комната свободна, если нет неотменённых броней, пересекающихся с [from, to)
+    @Query("select r from Room r join fetch r.roomType join fetch r.hotel " +
+           "where r.hotel.id = :hotelId and not exists (" +
+           "select b.id from Booking b where b.room = r " +
+           "and b.checkInDate < :to and b.checkOutDate > :from " +
+           "and b.status <> com.github.lukashindy.booking.model.Booking.Status.CANCELLED) " +
+           "order by r.id")
+    List<Room> findAvailableByHotelId(@Param("hotelId") Long hotelId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+
+    @Query("select r from Room r join fetch r.roomType join fetch r.hotel " +
+           "where r.roomType.id = :roomTypeId and not exists (" +
+           "select b.id from Booking b where b.room = r " +
+           "and b.checkInDate < :to and b.checkOutDate > :from " +
+           "and b.status <> com.github.lukashindy.booking.model.Booking.Status.CANCELLED) " +
+           "order by r.id")
+    List<Room> findAvailableByRoomTypeId(@Param("roomTypeId") Long roomTypeId,
+                                         @Param("from") LocalDate from,
+                                         @Param("to") LocalDate to);
+
+    @Query("select r.id from Room r where r.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Потоковая выгрузка для экспорта: строки читаются курсором порциями по fetch size,
+    // в кэш второго уровня не попадают, чтобы полный проход не вытеснял горячие записи
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select r from Room r join fetch r.roomType join fetch r.hotel order by r.id")
+    Stream<Room> streamAllWithDetails();
 }
@@ -0,0 +1,9 @@
+package com.github.lukashindy.booking.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Ночи [checkIn, checkOut), занятые неотменённой бронью комнаты.
+ */
+public record RoomStay(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+}
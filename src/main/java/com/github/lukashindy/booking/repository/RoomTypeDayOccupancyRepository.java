@@ -0,0 +1,31 @@
+package com.github.lukashindy.booking.repository;
+
+import com.github.lukashindy.booking.model.RoomTypeDayOccupancy;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RoomTypeDayOccupancyRepository extends JpaRepository<RoomTypeDayOccupancy, RoomTypeDayOccupancy.Key> {
+    // Диапазон по первичному ключу (room_type_id, stay_date) для каждого типа комнат отеля;
+    // проекция в record без сущностей в контексте персистентности
+    @Query("select new com.github.lukashindy.booking.repository.RoomTypeNightCount(o.roomTypeId, o.stayDate, o.occupied) " +
+           "from RoomTypeDayOccupancy o, RoomType rt " +
+           "where o.roomTypeId = rt.id and rt.hotel.id = :hotelId " +
+           "and o.stayDate >= :from and o.stayDate < :to")
+    List<RoomTypeNightCount> findByHotelIdAndStayDateRange(@Param("hotelId") Long hotelId,
+                                                             @Param("from") LocalDate from,
+                                                             @Param("to") LocalDate to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select o from RoomTypeDayOccupancy o where o.roomTypeId in :roomTypeIds and o.occupied <> 0")
+    List<RoomTypeDayOccupancy> findNonZeroByRoomTypeIds(@Param("roomTypeIds") Collection<Long> roomTypeIds);
+}
@@ -0,0 +1,9 @@
+package com.github.lukashindy.booking.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Число занятых номеров типа комнаты в ночь на указанную дату.
+ */
+public record RoomTypeNightCount(Long roomTypeId, LocalDate stayDate, int occupied) {
+}
@@ -1,12 +1,36 @@
 package com.github.lukashindy.booking.repository;
 
 import com.github.lukashindy.booking.model.RoomType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface RoomTypeRepository extends JpaRepository<RoomType, Long> {
-    List<RoomType> findByHotelId(Long hotelId);
+    List<RoomType> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("select rt.id from RoomType rt order by rt.id")
+    List<Long> findAllIds();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select rt from RoomType rt where rt.hotel.id = :hotelId")
+    List<RoomType> findByHotelId(@Param("hotelId") Long hotelId);
+
+    // hotel.id берется из внешнего ключа, join к hotel не нужен
+    @Query("select rt from RoomType rt where rt.hotel.id in :hotelIds order by rt.id")
+    List<RoomType> findByHotelIdIn(@Param("hotelIds") Collection<Long> hotelIds);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.github.lukashindy.booking.repository.CatalogVersion(" +
+           "count(rt), coalesce(sum(rt.id), 0L), coalesce(sum(rt.version), 0L), max(rt.updatedAt)) " +
+           "from RoomType rt where rt.hotel.id = :hotelId")
+    CatalogVersion findCatalogVersionByHotelId(@Param("hotelId") Long hotelId);
 }
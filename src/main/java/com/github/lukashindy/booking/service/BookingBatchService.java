@@ -0,0 +1,169 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.dto.BookingBatchResultDto;
+import com.github.lukashindy.booking.dto.BookingDto;
+import com.github.lukashindy.booking.mapper.BookingMapper;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomStay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class BookingBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingBatchService.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingMapper bookingMapper;
+
+    @Autowired
+    private OccupancyLedger occupancyLedger;
+
+    @Autowired
+    private RoomCalendarIndex roomCalendarIndex;
+
+    @Autowired
+    private RoomBookingGuard roomBookingGuard;
+
+    @Transactional
+    public List<BookingBatchResultDto> ingest(List<BookingDto> requests) {
+        logger.info("Ingesting batch of {} bookings", requests.size());
+
+        BookingBatchResultDto[] results = new BookingBatchResultDto[requests.size()];
+        List<Integer> candidates = new ArrayList<>();
+        Set<Long> roomIds = new HashSet<>();
+        LocalDate windowFrom = null;
+        LocalDate windowTo = null;
+
+        // 1. Проверка полей каждой заявки без обращения к БД
+        for (int i = 0; i < requests.size(); i++) {
+            BookingDto request = requests.get(i);
+            String error = validate(request);
+            if (error != null) {
+                results[i] = BookingBatchResultDto.rejected(i, error);
+                continue;
+            }
+            candidates.add(i);
+            roomIds.add(request.getRoomId());
+            if (windowFrom == null || request.getCheckInDate().isBefore(windowFrom)) {
+                windowFrom = request.getCheckInDate();
+            }
+            if (windowTo == null || request.getCheckOutDate().isAfter(windowTo)) {
+                windowTo = request.getCheckOutDate();
+            }
+        }
+
+        // 2. Один запрос на существование комнат и один на пересекающиеся брони по всему окну пачки.
+        //    Перед проверкой пересечений комнаты закрываются от параллельных пачек до конца транзакции
+        Map<Long, List<Stay>> staysByRoom = new HashMap<>();
+        Set<Long> existingRoomIds = new HashSet<>();
+        if (!candidates.isEmpty()) {
+            existingRoomIds.addAll(roomRepository.findExistingIds(roomIds));
+            if (!existingRoomIds.isEmpty()) {
+                roomBookingGuard.acquire(existingRoomIds);
+            }
+            for (RoomStay existing : bookingRepository.findActiveStaysOverlapping(roomIds, windowFrom, windowTo)) {
+                staysByRoom.computeIfAbsent(existing.roomId(), id -> new ArrayList<>())
+                        .add(new Stay(existing.checkIn(), existing.checkOut()));
+            }
+        }
+
+        // 3. Проверка пересечений в памяти: с уже сохранёнными бронями и с принятыми ранее в этой же пачке
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<Booking> accepted = new ArrayList<>();
+        for (int i : candidates) {
+            BookingDto request = requests.get(i);
+            if (!existingRoomIds.contains(request.getRoomId())) {
+                results[i] = BookingBatchResultDto.rejected(i, "Room not found with id: '" + request.getRoomId() + "'");
+                continue;
+            }
+            Booking booking = toEntity(request);
+            if (booking.getStatus() != Booking.Status.CANCELLED) {
+                Stay stay = new Stay(booking.getCheckInDate(), booking.getCheckOutDate());
+                List<Stay> stays = staysByRoom.computeIfAbsent(request.getRoomId(), id -> new ArrayList<>());
+                if (stays.stream().anyMatch(stay::overlaps)) {
+                    results[i] = BookingBatchResultDto.rejected(i, "Room is already booked for the requested dates");
+                    continue;
+                }
+                stays.add(stay);
+            }
+            acceptedIndexes.add(i);
+            accepted.add(booking);
+        }
+
+        // 4. Принятые брони вставляются JDBC batch'ами (pooled-последовательность + hibernate.jdbc.batch_size)
+        List<Booking> saved = bookingRepository.saveAll(accepted);
+        List<Booking> active = saved.stream()
+                .filter(booking -> booking.getStatus() != Booking.Status.CANCELLED)
+                .toList();
+        occupancyLedger.apply(active, 1);
+        roomCalendarIndex.apply(active, true);
+        for (int k = 0; k < saved.size(); k++) {
+            int i = acceptedIndexes.get(k);
+            results[i] = BookingBatchResultDto.accepted(i, saved.get(k).getId());
+        }
+
+        logger.info("Accepted {} of {} bookings", saved.size(), requests.size());
+        return List.of(results);
+    }
+
+    private String validate(BookingDto request) {
+        if (request == null) {
+            return "Booking is empty";
+        }
+        if (request.getRoomId() == null) {
+            return "'roomId' is required";
+        }
+        if (request.getCheckInDate() == null || request.getCheckOutDate() == null) {
+            return "'checkInDate' and 'checkOutDate' are required";
+        }
+        if (!request.getCheckInDate().isBefore(request.getCheckOutDate())) {
+            return "'checkInDate' must be before 'checkOutDate'";
+        }
+        if (request.getStatus() != null) {
+            try {
+                Booking.Status.valueOf(request.getStatus());
+            } catch (IllegalArgumentException e) {
+                return "Unknown status: '" + request.getStatus() + "'";
+            }
+        }
+        return null;
+    }
+
+    private Booking toEntity(BookingDto request) {
+        Booking booking = bookingMapper.toEntity(request);
+        // id назначает последовательность; переданный клиентом id превратил бы insert в merge
+        booking.setId(null);
+        // Маппер отдаёт отсоединённую Room без версии — Hibernate такую не примет, нужна ссылка из контекста
+        booking.setRoom(roomRepository.getReferenceById(request.getRoomId()));
+        if (booking.getStatus() == null) {
+            booking.setStatus(Booking.Status.CREATED);
+        }
+        return booking;
+    }
+
+    private record Stay(LocalDate checkIn, LocalDate checkOut) {
+        boolean overlaps(Stay other) {
+            return checkIn.isBefore(other.checkOut) && checkOut.isAfter(other.checkIn);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.model.Booking.Status;
+import com.github.lukashindy.booking.repository.RoomStay;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ночная смена статусов броней: подтверждённые брони с прошедшим выездом завершаются,
+ * неподтверждённые к дате заезда — отменяются (с освобождением ночей в OccupancyLedger и календаре комнат).
+ * <p>
+ * Брони обходятся порциями по id, каждая порция — своя короткая транзакция: блокируются (FOR UPDATE)
+ * только строки порции, таблица целиком не блокируется. Каждая строка меняется условным UPDATE
+ * (id и прежний статус), и ночи освобождаются только у строк, которые этот UPDATE действительно изменил.
+ * <p>
+ * BookingStatusService читает бронь с той же блокировкой строки, поэтому смена статуса из API и порция
+ * задачи над одной бронью выполняются по очереди: кто пришёл вторым, ждёт коммита первого и видит
+ * уже новый статус. Бронь, которую успели подтвердить или отменить, задача не трогает, и ночи одной брони
+ * не снимаются дважды. Гарантия опирается на блокировки строк в БД, а не на память процесса,
+ * так что действует и при нескольких инстансах на одной базе.
+ */
+@Service
+public class BookingStatusJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingStatusJob.class);
+
+    private static final String SELECT_CHUNK_SQL =
+            "select id, room_id, check_in_date, check_out_date from booking " +
+            "where status = ? and %s < ? and id > ? order by id fetch first ? rows only for update";
+
+    private static final String UPDATE_STATUS_SQL = "update booking set status = ? where id = ? and status = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OccupancyLedger occupancyLedger;
+
+    @Autowired
+    private RoomCalendarIndex roomCalendarIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${booking.status-job.chunk-size:1000}")
+    private int chunkSize;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    @Scheduled(cron = "${booking.status-job.cron:0 30 2 * * *}")
+    public void runScheduled() {
+        run();
+    }
+
+    public Result run() {
+        LocalDate today = LocalDate.now(clock);
+        logger.info("Booking status job started for {}", today);
+        int completed = process(Transition.COMPLETE, today);
+        int cancelled = process(Transition.CANCEL_STALE, today);
+        logger.info("Booking status job finished: {} completed, {} cancelled", completed, cancelled);
+        return new Result(completed, cancelled);
+    }
+
+    private int process(Transition transition, LocalDate cutoff) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Counter updated = Counter.builder("booking.status.job.updated")
+                .description("Bookings moved to a new status by the status job")
+                .tag("transition", transition.tag)
+                .register(meterRegistry);
+        Timer chunkTimer = Timer.builder("booking.status.job.chunk")
+                .description("Time to update one chunk of bookings")
+                .tag("transition", transition.tag)
+                .register(meterRegistry);
+
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            long afterId = lastId;
+            Chunk chunk = chunkTimer.record(() -> transactionTemplate.execute(status -> updateChunk(transition, cutoff, afterId)));
+            if (chunk.selected() == 0) {
+                break;
+            }
+            total += chunk.updated();
+            lastId = chunk.lastId();
+            updated.increment(chunk.updated());
+            logger.debug("Booking status job: {} {} bookings so far, last id {}", transition.tag, total, lastId);
+            if (chunk.selected() < chunkSize) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private Chunk updateChunk(Transition transition, LocalDate cutoff, long afterId) {
+        List<Long> ids = new ArrayList<>();
+        List<RoomStay> stays = new ArrayList<>();
+        jdbcTemplate.query(String.format(SELECT_CHUNK_SQL, transition.dateColumn), rs -> {
+            ids.add(rs.getLong(1));
+            stays.add(new RoomStay(rs.getLong(2), rs.getObject(3, LocalDate.class), rs.getObject(4, LocalDate.class)));
+        }, transition.from.name(), Date.valueOf(cutoff), afterId, chunkSize);
+        if (ids.isEmpty()) {
+            return new Chunk(0, 0, afterId);
+        }
+
+        List<Object[]> args = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            args.add(new Object[]{transition.to.name(), id, transition.from.name()});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, args);
+
+        // Статус мог смениться до того, как порция получила блокировку строки: такие брони пропускаются
+        List<RoomStay> changed = new ArrayList<>(stays.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 1) {
+                changed.add(stays.get(i));
+            }
+        }
+
+        // Завершение занятость не меняет, отмена освобождает ночи
+        if (transition.to == Status.CANCELLED && !changed.isEmpty()) {
+            occupancyLedger.applyStays(changed, -1);
+            roomCalendarIndex.applyStays(changed, false);
+        }
+        return new Chunk(ids.size(), changed.size(), ids.get(ids.size() - 1));
+    }
+
+    enum Transition {
+        COMPLETE(Status.CONFIRMED, Status.COMPLETED, "check_out_date", "completed"),
+        CANCEL_STALE(Status.CREATED, Status.CANCELLED, "check_in_date", "cancelled");
+
+        private final Status from;
+        private final Status to;
+        // Бронь подходит, если эта дата раньше сегодняшней
+        private final String dateColumn;
+        private final String tag;
+
+        Transition(Status from, Status to, String dateColumn, String tag) {
+            this.from = from;
+            this.to = to;
+            this.dateColumn = dateColumn;
+            this.tag = tag;
+        }
+    }
+
+    private record Chunk(int selected, int updated, long lastId) {
+    }
+
+    public record Result(int completed, int cancelled) {
+    }
+}
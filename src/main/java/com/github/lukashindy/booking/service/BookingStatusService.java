@@ -0,0 +1,61 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.exception.BadRequestException;
+import com.github.lukashindy.booking.exception.ResourceNotFoundException;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Booking.Status;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class BookingStatusService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingStatusService.class);
+
+    // CANCELLED и COMPLETED — конечные состояния
+    private static final Map<Status, Set<Status>> TRANSITIONS = Map.of(
+            Status.CREATED, Set.of(Status.CONFIRMED, Status.CANCELLED),
+            Status.CONFIRMED, Set.of(Status.CANCELLED, Status.COMPLETED),
+            Status.CANCELLED, Set.of(),
+            Status.COMPLETED, Set.of());
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OccupancyLedger occupancyLedger;
+
+    @Autowired
+    private RoomCalendarIndex roomCalendarIndex;
+
+    /**
+     * Переход проверяется по статусу, прочитанному под блокировкой строки: пока транзакция не завершена,
+     * ни другой запрос, ни ночная задача не сменят статус этой брони и не снимут её ночи второй раз.
+     */
+    @Transactional
+    public Booking changeStatus(Long bookingId, Status status) {
+        Booking booking = bookingRepository.findForUpdateById(bookingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Booking", "id", bookingId));
+        Status current = booking.getStatus();
+        if (!TRANSITIONS.getOrDefault(current, Set.of()).contains(status)) {
+            throw new BadRequestException(String.format("Booking %d cannot move from %s to %s", bookingId, current, status));
+        }
+
+        // Отмена освобождает ночи брони; завершение занятость не меняет
+        if (status == Status.CANCELLED) {
+            occupancyLedger.apply(List.of(booking), -1);
+            roomCalendarIndex.apply(List.of(booking), false);
+        }
+        booking.setStatus(status);
+        logger.info("Booking {} moved from {} to {}", bookingId, current, status);
+        return booking;
+    }
+}
@@ -0,0 +1,248 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.RoomTypeDayOccupancy;
+import com.github.lukashindy.booking.repository.BookingDateCount;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomStay;
+import com.github.lukashindy.booking.repository.RoomTypeDayOccupancyRepository;
+import com.github.lukashindy.booking.repository.RoomTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Ведёт таблицу room_type_day_occupancy: число занятых номеров каждого типа на каждую ночь.
+ * Создание и отмена брони меняют счётчики в той же транзакции; rebuild пересчитывает таблицу
+ * из броней параллельно по порциям типов комнат, check сверяет её с бронями без записи.
+ */
+@Service
+public class OccupancyLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyLedger.class);
+
+    // Стандартный MERGE: атомарное приращение счётчика, строка создаётся при первой брони на ночь
+    private static final String MERGE_SQL =
+            "merge into room_type_day_occupancy o " +
+            "using (values (cast(? as bigint), cast(? as date), cast(? as int))) d (room_type_id, stay_date, delta) " +
+            "on o.room_type_id = d.room_type_id and o.stay_date = d.stay_date " +
+            "when matched then update set occupied = o.occupied + d.delta " +
+            "when not matched then insert (room_type_id, stay_date, occupied) values (d.room_type_id, d.stay_date, d.delta)";
+
+    // Брони разных комнат одного типа пишут одни строки: первая вставка строки ночи не должна гоняться со второй.
+    // Те же замки берет пересчет порции; полос больше размера порции, чтобы параллельные порции не ждали друг друга
+    private final StripedTransactionLocks roomTypeLocks = new StripedTransactionLocks(1024);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomTypeDayOccupancyRepository occupancyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${booking.occupancy-ledger.chunk-size:100}")
+    private int chunkSize;
+
+    @Value("${booking.occupancy-ledger.rebuild-threads:4}")
+    private int rebuildThreads;
+
+    @Value("${booking.occupancy-ledger.lock-timeout-ms:5000}")
+    private long lockTimeoutMs;
+
+    /**
+     * Добавляет (sign = 1) или снимает (sign = -1) ночи броней. Отменённые брони занятость не меняют,
+     * поэтому при отмене вызывается до смены статуса или с явным sign = -1 для прежнего состояния.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Collection<Booking> bookings, int sign) {
+        List<RoomStay> stays = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            stays.add(new RoomStay(booking.getRoom().getId(), booking.getCheckInDate(), booking.getCheckOutDate()));
+        }
+        applyStays(stays, sign);
+    }
+
+    /**
+     * То же для броней, прочитанных без загрузки сущностей (например, JDBC-обновлением статусов).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyStays(Collection<RoomStay> stays, int sign) {
+        // Комнаты читаются по id из контекста или кэша второго уровня: запрос по списку id пришлось бы
+        // транслировать заново и сбрасывать перед ним ещё не записанные брони
+        Map<Long, Long> roomTypeByRoom = new HashMap<>();
+        for (RoomStay stay : stays) {
+            roomTypeByRoom.computeIfAbsent(stay.roomId(), roomId -> roomRepository.findById(roomId)
+                    .map(room -> room.getRoomType().getId())
+                    .orElseThrow(() -> new IllegalStateException("Room not found with id: '" + roomId + "'")));
+        }
+
+        // Ночи нескольких броней одного типа складываются до записи: одна строка MERGE на (тип, ночь)
+        Map<RoomTypeDayOccupancy.Key, Integer> deltas = new HashMap<>();
+        for (RoomStay stay : stays) {
+            Long roomTypeId = roomTypeByRoom.get(stay.roomId());
+            for (LocalDate night = stay.checkIn(); night.isBefore(stay.checkOut()); night = night.plusDays(1)) {
+                deltas.merge(new RoomTypeDayOccupancy.Key(roomTypeId, night), sign, Integer::sum);
+            }
+        }
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                rows.add(new Object[]{key.getRoomTypeId(), Date.valueOf(key.getStayDate()), delta});
+            }
+        });
+        roomTypeLocks.lockUntilCompletion(new HashSet<>(roomTypeByRoom.values()), lockTimeoutMs);
+        try {
+            jdbcTemplate.batchUpdate(MERGE_SQL, rows);
+        } catch (DuplicateKeyException e) {
+            // Ту же строку в этот момент вставил другой инстанс приложения; повтор запроса её уже увидит
+            throw new ConcurrencyFailureException("Occupancy was updated concurrently", e);
+        }
+        logger.debug("Applied {} bookings ({}) as {} occupancy rows", stays.size(), sign > 0 ? "+" : "-", rows.size());
+    }
+
+    /**
+     * Пересчитывает таблицу из броней. Порции типов комнат обрабатываются параллельно,
+     * каждая в своей транзакции под замками своих типов: строки порции удаляются и вставляются заново.
+     */
+    public int rebuild() {
+        List<List<Long>> chunks = roomTypeChunks();
+        logger.info("Rebuilding occupancy ledger in {} chunks on {} threads", chunks.size(), rebuildThreads);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildThreads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (List<Long> chunk : chunks) {
+                results.add(executor.submit(() -> transactionTemplate.execute(status -> rebuildChunk(chunk))));
+            }
+            int rows = 0;
+            for (Future<Integer> result : results) {
+                rows += result.get();
+            }
+            logger.info("Occupancy ledger rebuilt: {} rows", rows);
+            return rows;
+        } catch (Exception e) {
+            throw new IllegalStateException("Occupancy ledger rebuild failed", e);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Сверяет таблицу с бронями и возвращает расхождения (тип комнаты, ночь, ожидаемое и фактическое число).
+     */
+    @Transactional(readOnly = true)
+    public List<Mismatch> check() {
+        List<Mismatch> mismatches = new ArrayList<>();
+        for (List<Long> chunk : roomTypeChunks()) {
+            Map<RoomTypeDayOccupancy.Key, Integer> expected = expectedOccupancy(chunk);
+            Map<RoomTypeDayOccupancy.Key, Integer> actual = new HashMap<>();
+            for (RoomTypeDayOccupancy row : occupancyRepository.findNonZeroByRoomTypeIds(chunk)) {
+                actual.put(new RoomTypeDayOccupancy.Key(row.getRoomTypeId(), row.getStayDate()), row.getOccupied());
+            }
+            expected.forEach((key, count) -> {
+                int stored = actual.getOrDefault(key, 0);
+                if (stored != count) {
+                    mismatches.add(new Mismatch(key.getRoomTypeId(), key.getStayDate(), count, stored));
+                }
+            });
+            actual.forEach((key, stored) -> {
+                if (!expected.containsKey(key)) {
+                    mismatches.add(new Mismatch(key.getRoomTypeId(), key.getStayDate(), 0, stored));
+                }
+            });
+        }
+        if (!mismatches.isEmpty()) {
+            logger.warn("Occupancy ledger has {} mismatched rows", mismatches.size());
+        }
+        return mismatches;
+    }
+
+    private int rebuildChunk(List<Long> roomTypeIds) {
+        // Замки типов берутся до чтения броней: apply держит их до коммита, поэтому пересчет видит
+        // уже закоммиченные брони, а незакоммиченные допишут свой MERGE поверх пересчитанных строк
+        roomTypeLocks.lockUntilCompletion(roomTypeIds, lockTimeoutMs);
+        Map<RoomTypeDayOccupancy.Key, Integer> expected = expectedOccupancy(roomTypeIds);
+
+        String placeholders = String.join(",", roomTypeIds.stream().map(id -> "?").toList());
+        jdbcTemplate.update("delete from room_type_day_occupancy where room_type_id in (" + placeholders + ")",
+                roomTypeIds.toArray());
+
+        List<Object[]> rows = new ArrayList<>(expected.size());
+        expected.forEach((key, count) -> rows.add(new Object[]{key.getRoomTypeId(), Date.valueOf(key.getStayDate()), count}));
+        jdbcTemplate.batchUpdate("insert into room_type_day_occupancy (room_type_id, stay_date, occupied) values (?, ?, ?)", rows);
+        return rows.size();
+    }
+
+    // Занятость по ночам из сгруппированных заездов и выездов: бегущая сумма между соседними датами событий
+    private Map<RoomTypeDayOccupancy.Key, Integer> expectedOccupancy(List<Long> roomTypeIds) {
+        Map<Long, TreeMap<LocalDate, Long>> events = new HashMap<>();
+        for (BookingDateCount checkIn : bookingRepository.findCheckInCountsByRoomTypeIds(roomTypeIds)) {
+            events.computeIfAbsent(checkIn.roomTypeId(), id -> new TreeMap<>()).merge(checkIn.date(), checkIn.count(), Long::sum);
+        }
+        for (BookingDateCount checkOut : bookingRepository.findCheckOutCountsByRoomTypeIds(roomTypeIds)) {
+            events.computeIfAbsent(checkOut.roomTypeId(), id -> new TreeMap<>()).merge(checkOut.date(), -checkOut.count(), Long::sum);
+        }
+
+        Map<RoomTypeDayOccupancy.Key, Integer> expected = new HashMap<>();
+        events.forEach((roomTypeId, dates) -> {
+            long occupied = 0;
+            LocalDate night = null;
+            for (Map.Entry<LocalDate, Long> event : dates.entrySet()) {
+                for (; night != null && night.isBefore(event.getKey()); night = night.plusDays(1)) {
+                    expected.put(new RoomTypeDayOccupancy.Key(roomTypeId, night), (int) occupied);
+                }
+                occupied += event.getValue();
+                night = occupied > 0 ? event.getKey() : null;
+            }
+        });
+        return expected;
+    }
+
+    private List<List<Long>> roomTypeChunks() {
+        List<Long> roomTypeIds = roomTypeRepository.findAllIds();
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int i = 0; i < roomTypeIds.size(); i += chunkSize) {
+            chunks.add(roomTypeIds.subList(i, Math.min(i + chunkSize, roomTypeIds.size())));
+        }
+        return chunks;
+    }
+
+    public record Mismatch(Long roomTypeId, LocalDate stayDate, int expected, int actual) {
+    }
+}
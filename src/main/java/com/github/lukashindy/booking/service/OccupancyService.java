@@ -0,0 +1,117 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.dto.OccupancyDto;
+import com.github.lukashindy.booking.dto.OccupancyDto.Granularity;
+import com.github.lukashindy.booking.dto.OccupancyPeriodDto;
+import com.github.lukashindy.booking.dto.RoomTypeOccupancyDto;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomTypeDayOccupancyRepository;
+import com.github.lukashindy.booking.repository.RoomTypeNightCount;
+import com.github.lukashindy.booking.repository.RoomTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Занятость номеров отеля по типам комнат за диапазон дат.
+ * Число занятых номеров на каждую ночь читается из room_type_day_occupancy (ведёт OccupancyLedger)
+ * одним проходом по диапазону первичного ключа, затем ночи сворачиваются в периоды.
+ */
+@Service
+public class OccupancyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyService.class);
+
+    @Autowired
+    private RoomTypeDayOccupancyRepository occupancyRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Transactional(readOnly = true)
+    public OccupancyDto getOccupancy(Long hotelId, LocalDate from, LocalDate to, Granularity granularity) {
+        int days = (int) ChronoUnit.DAYS.between(from, to);
+
+        Map<Long, Integer> roomsByType = new HashMap<>();
+        for (Room room : roomRepository.findByHotelId(hotelId)) {
+            roomsByType.merge(room.getRoomType().getId(), 1, Integer::sum);
+        }
+
+        // occupied[d] — число занятых номеров в ночь from + d; ночей без строки в таблице нет броней
+        Map<Long, long[]> occupiedByType = new HashMap<>();
+        for (RoomTypeNightCount row : occupancyRepository.findByHotelIdAndStayDateRange(hotelId, from, to)) {
+            int day = (int) ChronoUnit.DAYS.between(from, row.stayDate());
+            occupiedByType.computeIfAbsent(row.roomTypeId(), id -> new long[days])[day] = row.occupied();
+        }
+
+        List<RoomTypeOccupancyDto> roomTypes = new ArrayList<>();
+        for (RoomType roomType : roomTypeRepository.findByHotelId(hotelId)) {
+            int rooms = roomsByType.getOrDefault(roomType.getId(), 0);
+            long[] occupied = occupiedByType.getOrDefault(roomType.getId(), new long[days]);
+
+            RoomTypeOccupancyDto dto = new RoomTypeOccupancyDto();
+            dto.setRoomTypeId(roomType.getId());
+            dto.setName(roomType.getName());
+            dto.setRooms(rooms);
+            dto.setPeriods(toPeriods(from, to, granularity, rooms, occupied));
+            roomTypes.add(dto);
+        }
+
+        OccupancyDto occupancy = new OccupancyDto();
+        occupancy.setHotelId(hotelId);
+        occupancy.setFrom(from);
+        occupancy.setTo(to);
+        occupancy.setGranularity(granularity);
+        occupancy.setRoomTypes(roomTypes);
+        logger.debug("Computed occupancy for hotel ID: {} over {} days for {} room types", hotelId, days, roomTypes.size());
+        return occupancy;
+    }
+
+    private List<OccupancyPeriodDto> toPeriods(LocalDate from, LocalDate to, Granularity granularity,
+                                               int rooms, long[] occupiedByDay) {
+        List<OccupancyPeriodDto> periods = new ArrayList<>();
+        int day = 0;
+        LocalDate start = from;
+        while (start.isBefore(to)) {
+            LocalDate end = periodEnd(start, granularity);
+            if (end.isAfter(to)) {
+                end = to;
+            }
+            long nights = ChronoUnit.DAYS.between(start, end);
+            long occupied = 0;
+            for (long i = 0; i < nights; i++, day++) {
+                occupied += occupiedByDay[day];
+            }
+            long available = rooms * nights;
+            double rate = available > 0 ? (double) occupied / available : 0;
+            periods.add(new OccupancyPeriodDto(start, end, occupied, available, rate));
+            start = end;
+        }
+        return periods;
+    }
+
+    // Недели начинаются с понедельника, месяцы — с первого числа; крайние периоды обрезаются по диапазону
+    private LocalDate periodEnd(LocalDate start, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+            case MONTH -> start.with(TemporalAdjusters.firstDayOfNextMonth());
+        };
+    }
+}
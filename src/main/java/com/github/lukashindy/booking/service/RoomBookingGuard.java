@@ -0,0 +1,67 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.model.RoomCalendar;
+import com.github.lukashindy.booking.repository.RoomCalendarRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Защита от двойного бронирования при параллельной записи в одну комнату.
+ * <p>
+ * Внутри процесса транзакции, затрагивающие одни комнаты, выстраиваются в очередь на полосах замков
+ * (комната → полоса по id), замки держатся до конца транзакции. Между процессами страж —
+ * версия строки room_calendar: она читается до проверки пересечений и повышается при коммите
+ * с условием на прочитанное значение, так что из двух пересекающихся транзакций коммитится одна,
+ * вторая получает OptimisticLockingFailureException.
+ */
+@Service
+public class RoomBookingGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomBookingGuard.class);
+
+    // Стандартный MERGE: строка-страж появляется при первой брони комнаты, созданной после миграции
+    private static final String CREATE_MISSING_SQL =
+            "merge into room_calendar c using (values (cast(? as bigint))) r (room_id) on c.room_id = r.room_id " +
+            "when not matched then insert (room_id, version) values (r.room_id, 0)";
+
+    private final StripedTransactionLocks locks = new StripedTransactionLocks(256);
+
+    @Autowired
+    private RoomCalendarRepository roomCalendarRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${booking.room-guard.lock-timeout-ms:5000}")
+    private long lockTimeoutMs;
+
+    /**
+     * Захватывает полосы замков комнат до конца текущей транзакции и читает версии их строк-стражей.
+     * Вызывается до проверки пересечений: брони, закоммиченные после чтения версии, сменят её.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void acquire(Collection<Long> roomIds) {
+        locks.lockUntilCompletion(roomIds, lockTimeoutMs);
+
+        List<RoomCalendar> rows = new ArrayList<>(roomCalendarRepository.findWithVersionIncrementByRoomIdIn(roomIds));
+        if (rows.size() < roomIds.size()) {
+            Set<Long> missing = new HashSet<>(roomIds);
+            rows.forEach(row -> missing.remove(row.getRoomId()));
+            jdbcTemplate.batchUpdate(CREATE_MISSING_SQL, missing.stream().map(id -> new Object[]{id}).toList());
+            rows.addAll(roomCalendarRepository.findWithVersionIncrementByRoomIdIn(missing));
+        }
+        logger.debug("Guarding {} rooms", rows.size());
+    }
+}
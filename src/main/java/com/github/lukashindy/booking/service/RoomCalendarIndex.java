@@ -0,0 +1,249 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import com.github.lukashindy.booking.repository.RoomStay;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Календарь занятых ночей каждой комнаты в памяти: 768 бит (12 long, 96 байт) на комнату.
+ * Бит ночи — её номер дня по модулю 768, так что скользящее окно в два года сдвигается
+ * без переноса данных: ушедшие ночи обнуляются, вошедшие в окно догружаются из БД.
+ * Комнаты лежат в одном массиве по id (id выдаёт последовательность, пропусков мало).
+ * Строится при старте, брони добавляются и снимаются после коммита транзакции, которая их изменила.
+ */
+@Service
+public class RoomCalendarIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomCalendarIndex.class);
+
+    public static final int WINDOW_NIGHTS = 731;
+    private static final int WORDS_PER_ROOM = 12;
+    private static final int RING_NIGHTS = WORDS_PER_ROOM * Long.SIZE;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Clock clock = Clock.systemDefaultZone();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private long[] words = new long[0];
+    // Первая ночь окна; null, пока календарь не построен
+    private LocalDate windowStart;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            LocalDate today = LocalDate.now(clock);
+            Arrays.fill(words, 0);
+            int stays = load(today, today.plusDays(WINDOW_NIGHTS));
+            windowStart = today;
+            logger.info("Room calendar built from {} bookings for nights {}..{}, {} KB",
+                    stays, today, today.plusDays(WINDOW_NIGHTS), words.length * Long.BYTES / 1024);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Умещается ли [from, to) в окно календаря; иначе свободные комнаты ищутся запросом в БД.
+     */
+    public boolean covers(LocalDate from, LocalDate to) {
+        advance();
+        lock.readLock().lock();
+        try {
+            return windowStart != null && !from.isBefore(windowStart) && !to.isAfter(windowStart.plusDays(WINDOW_NIGHTS));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isFree(Long roomId, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return isClear(roomId, from, to);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Комнаты из списка, у которых свободны все ночи [from, to). Диапазон должен проходить {@link #covers}.
+     */
+    public List<Long> findFree(Collection<Long> roomIds, LocalDate from, LocalDate to) {
+        List<Long> free = new ArrayList<>(roomIds.size());
+        lock.readLock().lock();
+        try {
+            for (Long roomId : roomIds) {
+                if (isClear(roomId, from, to)) {
+                    free.add(roomId);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return free;
+    }
+
+    /**
+     * Отмечает ночи броней занятыми (booked = true) или свободными. Внутри транзакции
+     * изменение откладывается до коммита, чтобы откат не оставил в календаре чужих ночей.
+     */
+    public void apply(Collection<Booking> bookings, boolean booked) {
+        List<RoomStay> stays = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            stays.add(new RoomStay(booking.getRoom().getId(), booking.getCheckInDate(), booking.getCheckOutDate()));
+        }
+        applyStays(stays, booked);
+    }
+
+    public void applyStays(List<RoomStay> stays, boolean booked) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update(stays, booked);
+                }
+            });
+        } else {
+            update(stays, booked);
+        }
+    }
+
+    private void update(List<RoomStay> stays, boolean booked) {
+        advance();
+        lock.writeLock().lock();
+        try {
+            if (windowStart == null) {
+                return;
+            }
+            for (RoomStay stay : stays) {
+                mark(stay, windowStart, windowStart.plusDays(WINDOW_NIGHTS), booked);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Сдвиг окна на сегодняшний день: ночи до сегодня обнуляются, новые ночи в конце окна читаются из БД
+    private void advance() {
+        LocalDate today = LocalDate.now(clock);
+        lock.readLock().lock();
+        try {
+            if (windowStart == null || !today.isAfter(windowStart)) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (windowStart == null || !today.isAfter(windowStart)) {
+                return;
+            }
+            LocalDate oldEnd = windowStart.plusDays(WINDOW_NIGHTS);
+            LocalDate newEnd = today.plusDays(WINDOW_NIGHTS);
+            if (!today.isBefore(oldEnd)) {
+                Arrays.fill(words, 0);
+                load(today, newEnd);
+            } else {
+                for (long roomId = 0; roomId < words.length / WORDS_PER_ROOM; roomId++) {
+                    setRange(roomId, windowStart, today, false);
+                }
+                load(oldEnd, newEnd);
+            }
+            logger.debug("Room calendar window moved from {} to {}", windowStart, today);
+            windowStart = today;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int load(LocalDate from, LocalDate to) {
+        List<RoomStay> stays = bookingRepository.findActiveStaysBetween(from, to);
+        for (RoomStay stay : stays) {
+            mark(stay, from, to, true);
+        }
+        return stays.size();
+    }
+
+    // Ночи брони, обрезанные по [from, to); биты за пределами окна не трогаются
+    private void mark(RoomStay stay, LocalDate from, LocalDate to, boolean booked) {
+        LocalDate start = stay.checkIn().isBefore(from) ? from : stay.checkIn();
+        LocalDate end = stay.checkOut().isAfter(to) ? to : stay.checkOut();
+        if (start.isBefore(end)) {
+            if (booked) {
+                ensureCapacity(stay.roomId());
+            }
+            setRange(stay.roomId(), start, end, booked);
+        }
+    }
+
+    private boolean isClear(Long roomId, LocalDate from, LocalDate to) {
+        long base = roomId * WORDS_PER_ROOM;
+        if (base >= words.length) {
+            return true;
+        }
+        int position = (int) Math.floorMod(from.toEpochDay(), (long) RING_NIGHTS);
+        long nights = to.toEpochDay() - from.toEpochDay();
+        while (nights > 0) {
+            int bit = position & (Long.SIZE - 1);
+            int run = (int) Math.min(nights, Long.SIZE - bit);
+            if ((words[(int) base + (position >>> 6)] & mask(bit, run)) != 0) {
+                return false;
+            }
+            nights -= run;
+            position = (position + run) % RING_NIGHTS;
+        }
+        return true;
+    }
+
+    private void setRange(long roomId, LocalDate from, LocalDate to, boolean value) {
+        long base = roomId * WORDS_PER_ROOM;
+        if (base >= words.length) {
+            return;
+        }
+        int position = (int) Math.floorMod(from.toEpochDay(), (long) RING_NIGHTS);
+        long nights = to.toEpochDay() - from.toEpochDay();
+        while (nights > 0) {
+            int bit = position & (Long.SIZE - 1);
+            int run = (int) Math.min(nights, Long.SIZE - bit);
+            int word = (int) base + (position >>> 6);
+            words[word] = value ? words[word] | mask(bit, run) : words[word] & ~mask(bit, run);
+            nights -= run;
+            position = (position + run) % RING_NIGHTS;
+        }
+    }
+
+    private static long mask(int bit, int run) {
+        return (run == Long.SIZE ? -1L : (1L << run) - 1) << bit;
+    }
+
+    private void ensureCapacity(long roomId) {
+        long required = (roomId + 1) * WORDS_PER_ROOM;
+        if (required > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Room id " + roomId + " is too large for the room calendar");
+        }
+        if (required > words.length) {
+            long grown = Math.max(required, 2L * words.length);
+            words = Arrays.copyOf(words, (int) (grown > Integer.MAX_VALUE - 8 ? required : grown));
+        }
+    }
+}
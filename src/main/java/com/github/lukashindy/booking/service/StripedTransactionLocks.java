@@ -0,0 +1,66 @@
+package com.github.lukashindy.booking.service;
+
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Полосы замков по ключу (id), которые держатся до завершения текущей транзакции.
+ * Полосы берутся по возрастанию номера: два потока с пересекающимися наборами ключей не зациклятся.
+ */
+class StripedTransactionLocks {
+
+    private final ReentrantLock[] stripes;
+
+    StripedTransactionLocks(int size) {
+        stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    void lockUntilCompletion(Collection<Long> keys, long timeoutMs) {
+        TreeSet<Integer> indexes = new TreeSet<>();
+        for (Long key : keys) {
+            indexes.add(Math.floorMod(Long.hashCode(key), stripes.length));
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(indexes.size());
+        try {
+            for (int index : indexes) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS)) {
+                    throw new CannotAcquireLockException("Timed out waiting for lock after " + timeoutMs + " ms");
+                }
+                held.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unlock(held);
+            throw new CannotAcquireLockException("Interrupted while waiting for lock", e);
+        } catch (RuntimeException e) {
+            unlock(held);
+            throw e;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(held);
+            }
+        });
+    }
+
+    private static void unlock(List<ReentrantLock> held) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            held.get(i).unlock();
+        }
+    }
+}
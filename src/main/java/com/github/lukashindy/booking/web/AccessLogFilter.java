@@ -0,0 +1,63 @@
+package com.github.lukashindy.booking.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Выборочный access-лог: одна строка с ключ-значениями на запрос.
+ * Пишется доля запросов sample-rate, а ответы 5xx и медленные запросы пишутся всегда.
+ */
+@Component
+@Profile("!reactive")
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccessLogFilter.class);
+
+    @Value("${booking.access-log.sample-rate:0.01}")
+    private double sampleRate;
+
+    @Value("${booking.access-log.slow-threshold-ms:500}")
+    private long slowThresholdMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            int status = response.getStatus();
+            if (shouldLog(status, durationMs)) {
+                logger.atInfo()
+                        .addKeyValue("method", request.getMethod())
+                        .addKeyValue("uri", request.getRequestURI())
+                        .addKeyValue("status", status)
+                        .addKeyValue("durationMs", durationMs)
+                        .log("{} {} {} {}ms", request.getMethod(), request.getRequestURI(), status, durationMs);
+            }
+        }
+    }
+
+    private boolean shouldLog(int status, long durationMs) {
+        if (!logger.isInfoEnabled()) {
+            return false;
+        }
+        if (status >= 500 || durationMs >= slowThresholdMs) {
+            return true;
+        }
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
@@ -0,0 +1,36 @@
+package com.github.lukashindy.booking.config;
+
+import com.github.lukashindy.booking.repository.reactive.RoomDetailsRow;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveRuntimeHintsTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRuntimeHintsTest.class);
+
+    @Test
+    void aotFactories_ShouldRegisterRowProjection() throws Exception {
+        logger.info("Loading runtime hints registrars from aot.factories");
+
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+
+        // When
+        // Так же, как при AOT-обработке: все регистраторы из META-INF/spring/aot.factories
+        SpringFactoriesLoader.forResourceLocation("META-INF/spring/aot.factories")
+                .load(RuntimeHintsRegistrar.class)
+                .forEach(registrar -> registrar.registerHints(hints, getClass().getClassLoader()));
+
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(RoomDetailsRow.class.getConstructors()[0])
+                .invoke().test(hints));
+    }
+}
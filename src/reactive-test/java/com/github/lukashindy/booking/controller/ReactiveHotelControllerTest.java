@@ -0,0 +1,96 @@
+package com.github.lukashindy.booking.controller;
+
+import com.github.lukashindy.booking.dto.CursorPageDto;
+import com.github.lukashindy.booking.dto.HotelDto;
+import com.github.lukashindy.booking.exception.BadRequestException;
+import com.github.lukashindy.booking.mapper.ReactiveRowMapper;
+import com.github.lukashindy.booking.repository.reactive.HotelRow;
+import com.github.lukashindy.booking.repository.reactive.ReactiveHotelRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveHotelControllerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveHotelControllerTest.class);
+
+    @Mock
+    private ReactiveHotelRepository reactiveHotelRepository;
+
+    @Mock
+    private ReactiveRowMapper reactiveRowMapper;
+
+    @InjectMocks
+    private ReactiveHotelController reactiveHotelController;
+
+    private HotelRow firstHotel;
+    private HotelRow secondHotel;
+    private HotelDto firstHotelDto;
+    private HotelDto secondHotelDto;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for ReactiveHotelControllerTest");
+        firstHotel = new HotelRow(1L, 7L, "Grand", "Maldives", "Male", "Beach 1");
+        secondHotel = new HotelRow(2L, 7L, "Palace", "Maldives", "Male", "Beach 2");
+        firstHotelDto = new HotelDto();
+        firstHotelDto.setId(1L);
+        firstHotelDto.setName("Grand");
+        secondHotelDto = new HotelDto();
+        secondHotelDto.setId(2L);
+        secondHotelDto.setName("Palace");
+    }
+
+    @Test
+    void getAllHotels_WhenMoreRowsThanLimit_ShouldReturnPageWithCursor() {
+        // Given
+        when(reactiveHotelRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(2)))
+                .thenReturn(Flux.just(firstHotel, secondHotel));
+        when(reactiveRowMapper.toDto(firstHotel)).thenReturn(firstHotelDto);
+        when(reactiveRowMapper.toDto(secondHotel)).thenReturn(secondHotelDto);
+
+        // When
+        CursorPageDto<HotelDto> page = reactiveHotelController.getAllHotels(null, 1).block();
+
+        // Then
+        assertNotNull(page);
+        assertEquals(1, page.getItems().size());
+        assertEquals("Grand", page.getItems().get(0).getName());
+        assertEquals(1L, page.getNextCursor());
+    }
+
+    @Test
+    void getAllHotels_WhenLimitOutOfRange_ShouldFailWithBadRequest() {
+        // When & Then
+        assertThrows(BadRequestException.class, () -> reactiveHotelController.getAllHotels(null, 0).block());
+        verify(reactiveHotelRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+
+    @Test
+    void streamAllHotels_ShouldStreamEveryHotel() {
+        // Given
+        when(reactiveHotelRepository.findAll()).thenReturn(Flux.just(firstHotel, secondHotel));
+        when(reactiveRowMapper.toDto(firstHotel)).thenReturn(firstHotelDto);
+        when(reactiveRowMapper.toDto(secondHotel)).thenReturn(secondHotelDto);
+
+        // When
+        List<HotelDto> result = reactiveHotelController.streamAllHotels().collectList().block();
+
+        // Then
+        assertEquals(List.of("Grand", "Palace"), result.stream().map(HotelDto::getName).toList());
+    }
+}
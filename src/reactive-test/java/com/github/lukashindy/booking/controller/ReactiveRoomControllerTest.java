@@ -0,0 +1,98 @@
+package com.github.lukashindy.booking.controller;
+
+import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
+import com.github.lukashindy.booking.mapper.ReactiveRowMapper;
+import com.github.lukashindy.booking.repository.reactive.ReactiveRoomRepository;
+import com.github.lukashindy.booking.repository.reactive.RoomDetailsRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveRoomControllerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRoomControllerTest.class);
+
+    @Mock
+    private ReactiveRoomRepository reactiveRoomRepository;
+
+    @Mock
+    private ReactiveRowMapper reactiveRowMapper;
+
+    @InjectMocks
+    private ReactiveRoomController reactiveRoomController;
+
+    private List<RoomDetailsRow> rows;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for ReactiveRoomControllerTest");
+        rows = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            rows.add(new RoomDetailsRow(id, "R-" + id, 1L, "Standard", 2, 1L, "Grand", "Male", "Maldives"));
+        }
+    }
+
+    private void stubMapper() {
+        when(reactiveRowMapper.toDetailedDto(any(RoomDetailsRow.class))).thenAnswer(invocation -> {
+            RoomDetailsRow row = invocation.getArgument(0);
+            RoomWithDetailsDto dto = new RoomWithDetailsDto();
+            dto.setId(row.id());
+            dto.setRoomNumber(row.roomNumber());
+            dto.setHotelId(row.hotelId());
+            return dto;
+        });
+    }
+
+    @Test
+    void getRoomsByHotelId_ShouldStreamMappedRooms() {
+        // Given
+        when(reactiveRoomRepository.findByHotelId(1L)).thenReturn(Flux.fromIterable(rows));
+        stubMapper();
+
+        // When
+        List<RoomWithDetailsDto> result = reactiveRoomController.getRoomsByHotelId(1L).collectList().block();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(100, result.size());
+        assertEquals("R-1", result.get(0).getRoomNumber());
+        assertEquals(100L, result.get(99).getId());
+    }
+
+    @Test
+    void getRoomsByHotelId_ShouldReadRowsOnlyOnDemand() {
+        // Given
+        AtomicInteger emitted = new AtomicInteger();
+        when(reactiveRoomRepository.findByHotelId(1L))
+                .thenReturn(Flux.fromIterable(rows).doOnNext(row -> emitted.incrementAndGet()));
+        stubMapper();
+
+        // When
+        // Медленный клиент: запрошено 10 элементов, остальные строки не читаются
+        List<RoomWithDetailsDto> result = reactiveRoomController.getRoomsByHotelId(1L)
+                .limitRate(10)
+                .take(10)
+                .collectList()
+                .block();
+
+        // Then
+        assertEquals(10, result.size());
+        assertTrue(emitted.get() <= 10, "emitted " + emitted.get());
+        verify(reactiveRowMapper, times(10)).toDetailedDto(any(RoomDetailsRow.class));
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.lukashindy.booking.controller;
+
+import com.github.lukashindy.booking.dto.RoomTypeDto;
+import com.github.lukashindy.booking.mapper.ReactiveRowMapper;
+import com.github.lukashindy.booking.repository.reactive.ReactiveRoomTypeRepository;
+import com.github.lukashindy.booking.repository.reactive.RoomTypeRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveRoomTypeControllerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRoomTypeControllerTest.class);
+
+    @Mock
+    private ReactiveRoomTypeRepository reactiveRoomTypeRepository;
+
+    @Mock
+    private ReactiveRowMapper reactiveRowMapper;
+
+    @InjectMocks
+    private ReactiveRoomTypeController reactiveRoomTypeController;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for ReactiveRoomTypeControllerTest");
+    }
+
+    @Test
+    void getRoomTypesByHotelId_ShouldStreamMappedRoomTypes() {
+        // Given
+        RoomTypeRow standard = new RoomTypeRow(1L, 1L, "Standard", 2);
+        RoomTypeRow deluxe = new RoomTypeRow(2L, 1L, "Deluxe", 3);
+        RoomTypeDto standardDto = new RoomTypeDto();
+        standardDto.setId(1L);
+        standardDto.setName("Standard");
+        RoomTypeDto deluxeDto = new RoomTypeDto();
+        deluxeDto.setId(2L);
+        deluxeDto.setName("Deluxe");
+        when(reactiveRoomTypeRepository.findByHotelId(1L)).thenReturn(Flux.just(standard, deluxe));
+        when(reactiveRowMapper.toDto(standard)).thenReturn(standardDto);
+        when(reactiveRowMapper.toDto(deluxe)).thenReturn(deluxeDto);
+
+        // When
+        List<RoomTypeDto> result = reactiveRoomTypeController.getRoomTypesByHotelId(1L).collectList().block();
+
+        // Then
+        assertNotNull(result);
+        assertEquals(2, result.size());
+        assertEquals("Standard", result.get(0).getName());
+        assertEquals("Deluxe", result.get(1).getName());
+    }
+
+    @Test
+    void getRoomTypesByHotelId_WhenHotelHasNoRoomTypes_ShouldReturnEmptyStream() {
+        // Given
+        when(reactiveRoomTypeRepository.findByHotelId(99L)).thenReturn(Flux.empty());
+
+        // When
+        List<RoomTypeDto> result = reactiveRoomTypeController.getRoomTypesByHotelId(99L).collectList().block();
+
+        // Then
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(reactiveRowMapper);
+    }
+}
@@ -0,0 +1,84 @@
+package com.github.lukashindy.booking.mapper;
+
+import com.github.lukashindy.booking.dto.HotelDto;
+import com.github.lukashindy.booking.dto.RoomTypeDto;
+import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
+import com.github.lukashindy.booking.repository.reactive.HotelRow;
+import com.github.lukashindy.booking.repository.reactive.RoomDetailsRow;
+import com.github.lukashindy.booking.repository.reactive.RoomTypeRow;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveRowMapperTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRowMapperTest.class);
+    private final ReactiveRowMapper mapper = Mappers.getMapper(ReactiveRowMapper.class);
+
+    @Test
+    void testToDetailedDtoFromRow() {
+        logger.info("Starting testToDetailedDtoFromRow test");
+        
+        // Given
+        RoomDetailsRow row = new RoomDetailsRow(10L, "101", 1L, "Deluxe", 3, 2L, "Grand", "Male", "Maldives");
+
+        // When
+        RoomWithDetailsDto dto = mapper.toDetailedDto(row);
+
+        // Then
+        assertEquals(10L, dto.getId());
+        assertEquals("101", dto.getRoomNumber());
+        assertEquals(1L, dto.getRoomTypeId());
+        assertEquals("Deluxe", dto.getRoomTypeName());
+        assertEquals(3, dto.getRoomTypeCapacity());
+        assertEquals(2L, dto.getHotelId());
+        assertEquals("Grand", dto.getHotelName());
+        assertEquals("Male", dto.getHotelCity());
+        assertEquals("Maldives", dto.getHotelCountry());
+        
+        logger.info("Completed testToDetailedDtoFromRow test successfully");
+    }
+
+    @Test
+    void testToDtoFromHotelRow() {
+        logger.info("Starting testToDtoFromHotelRow test");
+
+        // Given
+        HotelRow row = new HotelRow(2L, 5L, "Grand", "Maldives", "Male", "North Male Atoll");
+
+        // When
+        HotelDto dto = mapper.toDto(row);
+
+        // Then
+        assertEquals(2L, dto.getId());
+        assertEquals(5L, dto.getOwnerId());
+        assertEquals("Grand", dto.getName());
+        assertEquals("Maldives", dto.getCountry());
+        assertEquals("Male", dto.getCity());
+        assertEquals("North Male Atoll", dto.getStreet());
+
+        logger.info("Completed testToDtoFromHotelRow test successfully");
+    }
+
+    @Test
+    void testToDtoFromRoomTypeRow() {
+        logger.info("Starting testToDtoFromRoomTypeRow test");
+
+        // Given
+        RoomTypeRow row = new RoomTypeRow(1L, 2L, "Deluxe", 3);
+
+        // When
+        RoomTypeDto dto = mapper.toDto(row);
+
+        // Then
+        assertEquals(1L, dto.getId());
+        assertEquals(2L, dto.getHotelId());
+        assertEquals("Deluxe", dto.getName());
+        assertEquals(3, dto.getCapacity());
+
+        logger.info("Completed testToDtoFromRoomTypeRow test successfully");
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.lukashindy.booking.config;
+
+import com.github.lukashindy.booking.repository.reactive.RoomDetailsRow;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Инфраструктура профиля reactive: Netty вместо Tomcat и JDBC DataSource рядом с R2DBC.
+ */
+@Configuration
+@Profile("reactive")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveWebConfig {
+
+    // Tomcat остается в classpath ради servlet-режима, а автоконфигурация реактивного сервера
+    // предпочла бы его; нужен Netty, где соединение не занимает поток
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // Автоконфигурация DataSource отключается, как только в контексте есть R2DBC ConnectionFactory,
+    // а Liquibase, JPA и DataLoader в этом режиме по-прежнему работают через JDBC (настройки spring.datasource.*)
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    // DTO-проекция R2DBC: конструктор вызывается через reflection. Регистрируется через META-INF/spring/aot.factories,
+    // а не @ImportRuntimeHints: конфигурация под профилем reactive при AOT-обработке без профиля не читается
+    public static class ReactiveRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(RoomDetailsRow.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
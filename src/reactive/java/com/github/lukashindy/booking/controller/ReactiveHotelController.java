@@ -0,0 +1,60 @@
+package com.github.lukashindy.booking.controller;
+
+import com.github.lukashindy.booking.dto.CursorPageDto;
+import com.github.lukashindy.booking.dto.HotelDto;
+import com.github.lukashindy.booking.exception.BadRequestException;
+import com.github.lukashindy.booking.mapper.ReactiveRowMapper;
+import com.github.lukashindy.booking.repository.reactive.ReactiveHotelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/hotels")
+@Profile("reactive")
+public class ReactiveHotelController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveHotelController.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private ReactiveHotelRepository reactiveHotelRepository;
+
+    @Autowired
+    private ReactiveRowMapper reactiveRowMapper;
+
+    // Тот же контракт, что у HotelController: keyset-страница с курсором следующей
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<CursorPageDto<HotelDto>> getAllHotels(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit) {
+        logger.debug("Getting hotels after ID: {} (limit {})", after, limit);
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return Mono.error(new BadRequestException(String.format("'limit' must be between 1 and %d", MAX_PAGE_SIZE)));
+        }
+
+        return reactiveHotelRepository.findByIdGreaterThanOrderByIdAsc(after != null ? after : 0L, Limit.of(limit + 1))
+                .map(reactiveRowMapper::toDto)
+                .collectList()
+                .map(hotels -> CursorPageDto.of(hotels, limit, HotelDto::getId));
+    }
+
+    // Все отели одним потоком без страниц: для агрегаторов, которые забирают каталог целиком
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<HotelDto> streamAllHotels() {
+        logger.debug("Streaming all hotels");
+        return reactiveHotelRepository.findAll()
+                .map(reactiveRowMapper::toDto);
+    }
+}
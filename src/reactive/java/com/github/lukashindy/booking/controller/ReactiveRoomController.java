@@ -0,0 +1,42 @@
+package com.github.lukashindy.booking.controller;
+
+import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
+import com.github.lukashindy.booking.mapper.ReactiveRowMapper;
+import com.github.lukashindy.booking.repository.reactive.ReactiveRoomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Неблокирующая версия чтения комнат отеля (профиль reactive, WebFlux + R2DBC).
+ * Ответ не собирается целиком: комнаты кодируются по мере чтения строк, а следующие строки
+ * запрашиваются у базы, только когда соединение клиента готово принять данные.
+ */
+@RestController
+@RequestMapping("/api/v1/rooms")
+@Profile("reactive")
+public class ReactiveRoomController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRoomController.class);
+
+    @Autowired
+    private ReactiveRoomRepository reactiveRoomRepository;
+
+    @Autowired
+    private ReactiveRowMapper reactiveRowMapper;
+
+    // application/json — потоковый JSON-массив, application/x-ndjson — по объекту на строку
+    @GetMapping(value = "/hotel/{hotelId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<RoomWithDetailsDto> getRoomsByHotelId(@PathVariable Long hotelId) {
+        logger.debug("Streaming rooms for hotel ID: {}", hotelId);
+        return reactiveRoomRepository.findByHotelId(hotelId)
+                .map(reactiveRowMapper::toDetailedDto);
+    }
+}
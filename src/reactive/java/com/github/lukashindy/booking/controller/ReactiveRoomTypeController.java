@@ -0,0 +1,36 @@
+package com.github.lukashindy.booking.controller;
+
+import com.github.lukashindy.booking.dto.RoomTypeDto;
+import com.github.lukashindy.booking.mapper.ReactiveRowMapper;
+import com.github.lukashindy.booking.repository.reactive.ReactiveRoomTypeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/v1/room-types")
+@Profile("reactive")
+public class ReactiveRoomTypeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRoomTypeController.class);
+
+    @Autowired
+    private ReactiveRoomTypeRepository reactiveRoomTypeRepository;
+
+    @Autowired
+    private ReactiveRowMapper reactiveRowMapper;
+
+    @GetMapping(value = "/hotel/{hotelId}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<RoomTypeDto> getRoomTypesByHotelId(@PathVariable Long hotelId) {
+        logger.debug("Streaming room types for hotel ID: {}", hotelId);
+        return reactiveRoomTypeRepository.findByHotelId(hotelId)
+                .map(reactiveRowMapper::toDto);
+    }
+}
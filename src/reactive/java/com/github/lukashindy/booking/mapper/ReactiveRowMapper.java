@@ -0,0 +1,21 @@
+package com.github.lukashindy.booking.mapper;
+
+import com.github.lukashindy.booking.dto.HotelDto;
+import com.github.lukashindy.booking.dto.RoomTypeDto;
+import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
+import com.github.lukashindy.booking.repository.reactive.HotelRow;
+import com.github.lukashindy.booking.repository.reactive.RoomDetailsRow;
+import com.github.lukashindy.booking.repository.reactive.RoomTypeRow;
+import org.mapstruct.Mapper;
+
+/**
+ * Строки R2DBC в те же DTO, что отдает servlet-режим: поля совпадают с DTO по именам.
+ */
+@Mapper(componentModel = "spring")
+public interface ReactiveRowMapper {
+    HotelDto toDto(HotelRow row);
+
+    RoomTypeDto toDto(RoomTypeRow row);
+
+    RoomWithDetailsDto toDetailedDto(RoomDetailsRow row);
+}
@@ -0,0 +1,11 @@
+package com.github.lukashindy.booking.repository.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Строка таблицы hotel для R2DBC: только читаемые поля, без связей и версии JPA-сущности.
+ */
+@Table("hotel")
+public record HotelRow(@Id Long id, Long ownerId, String name, String country, String city, String street) {
+}
@@ -0,0 +1,11 @@
+package com.github.lukashindy.booking.repository.reactive;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveHotelRepository extends R2dbcRepository<HotelRow, Long> {
+    Flux<HotelRow> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+}
@@ -0,0 +1,19 @@
+package com.github.lukashindy.booking.repository.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveRoomRepository extends R2dbcRepository<RoomRow, Long> {
+    // Аналог RoomRepository.findWithDetailsByHotelId: тип комнаты и отель в том же запросе,
+    // строки отдаются по мере чтения в порядке id
+    @Query("select r.id, r.room_number, " +
+           "rt.id as room_type_id, rt.name as room_type_name, rt.capacity as room_type_capacity, " +
+           "h.id as hotel_id, h.name as hotel_name, h.city as hotel_city, h.country as hotel_country " +
+           "from room r join room_type rt on rt.id = r.room_type_id join hotel h on h.id = r.hotel_id " +
+           "where r.hotel_id = :hotelId order by r.id")
+    Flux<RoomDetailsRow> findByHotelId(@Param("hotelId") Long hotelId);
+}
@@ -0,0 +1,13 @@
+package com.github.lukashindy.booking.repository.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveRoomTypeRepository extends R2dbcRepository<RoomTypeRow, Long> {
+    @Query("select * from room_type where hotel_id = :hotelId order by id")
+    Flux<RoomTypeRow> findByHotelId(@Param("hotelId") Long hotelId);
+}
@@ -0,0 +1,9 @@
+package com.github.lukashindy.booking.repository.reactive;
+
+/**
+ * Комната вместе с полями типа комнаты и отеля, прочитанная одним join-запросом.
+ */
+public record RoomDetailsRow(Long id, String roomNumber,
+                             Long roomTypeId, String roomTypeName, Integer roomTypeCapacity,
+                             Long hotelId, String hotelName, String hotelCity, String hotelCountry) {
+}
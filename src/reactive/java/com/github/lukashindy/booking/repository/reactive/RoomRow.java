@@ -0,0 +1,8 @@
+package com.github.lukashindy.booking.repository.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("room")
+public record RoomRow(@Id Long id, Long roomTypeId, Long hotelId, String roomNumber) {
+}
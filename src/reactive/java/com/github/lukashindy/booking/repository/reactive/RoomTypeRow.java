@@ -0,0 +1,8 @@
+package com.github.lukashindy.booking.repository.reactive;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Table("room_type")
+public record RoomTypeRow(@Id Long id, Long hotelId, String name, Integer capacity) {
+}
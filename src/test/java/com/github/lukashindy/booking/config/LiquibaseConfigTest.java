@@ -0,0 +1,91 @@
+package com.github.lukashindy.booking.config;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiquibaseConfigTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiquibaseConfigTest.class);
+
+    private ApplicationContextRunner contextRunner;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up context runner for LiquibaseConfigTest");
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID(), "sa", "sa");
+        // enabled=false: бин только собирается, миграция не запускается
+        contextRunner = new ApplicationContextRunner()
+                .withUserConfiguration(LiquibaseConfig.class)
+                .withBean(DataSource.class, () -> dataSource)
+                .withPropertyValues("booking.liquibase.skip-unchanged=true", "spring.liquibase.enabled=false");
+    }
+
+    @Test
+    void liquibase_ShouldApplyAllLiquibaseProperties() {
+        // Given
+        contextRunner.withPropertyValues(
+                "spring.liquibase.change-log=classpath:db/changelog/changelog-master.xml",
+                "spring.liquibase.contexts=dev,demo",
+                "spring.liquibase.label-filter=reporting",
+                "spring.liquibase.default-schema=BOOKING",
+                "spring.liquibase.liquibase-schema=LIQUIBASE",
+                "spring.liquibase.liquibase-tablespace=MIGRATIONS",
+                "spring.liquibase.database-change-log-table=CHANGELOG",
+                "spring.liquibase.database-change-log-lock-table=CHANGELOG_LOCK",
+                "spring.liquibase.drop-first=true",
+                "spring.liquibase.clear-checksums=true",
+                "spring.liquibase.test-rollback-on-update=true",
+                "spring.liquibase.tag=release-1",
+                "spring.liquibase.parameters.owner=booking")
+                // When
+                .run(context -> {
+                    SpringLiquibase liquibase = context.getBean(SpringLiquibase.class);
+
+                    // Then
+                    assertInstanceOf(SchemaChecksumLiquibase.class, liquibase);
+                    assertEquals("classpath:db/changelog/changelog-master.xml", liquibase.getChangeLog());
+                    assertEquals("dev,demo", liquibase.getContexts());
+                    assertEquals("reporting", liquibase.getLabelFilter());
+                    assertEquals("BOOKING", liquibase.getDefaultSchema());
+                    assertEquals("LIQUIBASE", liquibase.getLiquibaseSchema());
+                    assertEquals("MIGRATIONS", liquibase.getLiquibaseTablespace());
+                    assertEquals("CHANGELOG", liquibase.getDatabaseChangeLogTable());
+                    assertEquals("CHANGELOG_LOCK", liquibase.getDatabaseChangeLogLockTable());
+                    assertTrue(liquibase.isDropFirst());
+                    assertTrue(liquibase.isClearCheckSums());
+                    assertTrue(liquibase.isTestRollbackOnUpdate());
+                    assertEquals("release-1", liquibase.getTag());
+                    assertSame(context.getBean(DataSource.class), liquibase.getDataSource());
+                });
+    }
+
+    @Test
+    void liquibase_WhenLiquibaseUrlSet_ShouldUseSeparateConnection() {
+        // Given
+        contextRunner.withPropertyValues(
+                "spring.liquibase.url=jdbc:h2:mem:migrations",
+                "spring.liquibase.user=migrator",
+                "spring.liquibase.password=secret")
+                // When
+                .run(context -> {
+                    DataSource dataSource = context.getBean(SpringLiquibase.class).getDataSource();
+
+                    // Then
+                    SimpleDriverDataSource migration = assertInstanceOf(SimpleDriverDataSource.class, dataSource);
+                    assertEquals("jdbc:h2:mem:migrations", migration.getUrl());
+                    assertEquals("migrator", migration.getUsername());
+                    assertEquals("secret", migration.getPassword());
+                });
+    }
+}
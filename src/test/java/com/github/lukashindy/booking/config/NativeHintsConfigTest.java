@@ -0,0 +1,51 @@
+package com.github.lukashindy.booking.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.github.lukashindy.booking.dto.RoomListingDto;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.RoomTypeDayOccupancy;
+import com.github.lukashindy.booking.repository.RoomStay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NativeHintsConfigTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(NativeHintsConfigTest.class);
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Registering native hints for NativeHintsConfigTest");
+        hints = new RuntimeHints();
+        new NativeHintsConfig.BookingRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_ShouldIncludeChangelogsAndCacheConfiguration() {
+        // Then
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/changelog/changelog-master.xml").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/changelog/0.0.6/changes-0.0.6.xml").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("hibernate-jcache.conf").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(CaffeineCachingProvider.class).test(hints));
+    }
+
+    @Test
+    void registerHints_ShouldIncludeEntitiesProjectionsAndDtos() throws Exception {
+        // Then
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Booking.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(RoomTypeDayOccupancy.Key.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(RoomStay.class.getConstructor(Long.class, LocalDate.class, LocalDate.class))
+                .invoke().test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(RoomListingDto.class).test(hints));
+    }
+}
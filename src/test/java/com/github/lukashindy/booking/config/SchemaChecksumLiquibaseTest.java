@@ -0,0 +1,198 @@
+package com.github.lukashindy.booking.config;
+
+import liquibase.exception.LiquibaseException;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaChecksumLiquibaseTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaChecksumLiquibaseTest.class);
+
+    private static final String CHANGELOG = "classpath:db/changelog/changelog-master.xml";
+    private static final String CHANGELOG_FILES = "classpath*:db/changelog/**/*.xml";
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up in-memory database for SchemaChecksumLiquibaseTest");
+        // Своя база на тест; DB_CLOSE_DELAY держит ее между соединениями
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "sa");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    void afterPropertiesSet_ShouldApplyChangelogAndTagItWithChecksum() throws Exception {
+        // Given
+        SchemaChecksumLiquibase liquibase = liquibase();
+
+        // When
+        liquibase.afterPropertiesSet();
+
+        // Then
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from booking", Integer.class));
+        assertEquals(liquibase.checksum(), jdbcTemplate.queryForObject(
+                "select tag from databasechangelog where tag is not null", String.class));
+    }
+
+    @Test
+    void afterPropertiesSet_WhenChecksumAlreadyApplied_ShouldSkipLiquibase() throws Exception {
+        // Given
+        liquibase().afterPropertiesSet();
+        // Без пропуска Liquibase снова выполнил бы changeSet 1 и упал на существующих таблицах
+        jdbcTemplate.update("delete from databasechangelog where id = '1'");
+        int applied = jdbcTemplate.queryForObject("select count(*) from databasechangelog", Integer.class);
+
+        // When
+        liquibase().afterPropertiesSet();
+
+        // Then
+        assertEquals(applied, jdbcTemplate.queryForObject("select count(*) from databasechangelog", Integer.class));
+    }
+
+    @Test
+    void afterPropertiesSet_WhenChangelogChanged_ShouldRunLiquibase() throws Exception {
+        // Given
+        liquibase().afterPropertiesSet();
+        // Тег от прежней версии файлов changelog
+        jdbcTemplate.update("update databasechangelog set tag = 'schema-previous' where tag is not null");
+
+        // When
+        SchemaChecksumLiquibase liquibase = liquibase();
+        liquibase.afterPropertiesSet();
+
+        // Then
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from databasechangelog where tag = ?", Integer.class, liquibase.checksum()));
+    }
+
+    @Test
+    void afterPropertiesSet_WhenContextsChanged_ShouldRunLiquibase() throws Exception {
+        // Given
+        liquibase().afterPropertiesSet();
+        jdbcTemplate.update("delete from databasechangelog where id = '1'");
+        SchemaChecksumLiquibase liquibase = liquibase();
+        liquibase.setContexts("demo");
+
+        // When
+        // Тот же changelog с другими контекстами выполняет другой набор changeSet: пропуска быть не должно
+        LiquibaseException exception = assertThrows(LiquibaseException.class, liquibase::afterPropertiesSet);
+
+        // Then
+        logger.info("Liquibase ran with new contexts: {}", exception.getMessage());
+        assertNotEquals(liquibase().checksum(), liquibase.checksum());
+    }
+
+    @Test
+    void afterPropertiesSet_WhenDropFirst_ShouldRunLiquibase() throws Exception {
+        // Given
+        liquibase().afterPropertiesSet();
+        jdbcTemplate.update("insert into hotel_owner (id, name) values (1, 'John Smith')");
+        SchemaChecksumLiquibase liquibase = liquibase();
+        liquibase.setDropFirst(true);
+
+        // When
+        liquibase.afterPropertiesSet();
+
+        // Then
+        // Схема пересоздана, хотя тег с суммой уже был в базе
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from hotel_owner", Integer.class));
+    }
+
+    @Test
+    void afterPropertiesSet_WhenLiquibaseSchemaSet_ShouldFindTagInThatSchema() throws Exception {
+        // Given
+        jdbcTemplate.execute("create schema migrations");
+        SchemaChecksumLiquibase first = liquibase();
+        first.setLiquibaseSchema("MIGRATIONS");
+        first.afterPropertiesSet();
+        jdbcTemplate.update("delete from migrations.databasechangelog where id = '1'");
+
+        // When
+        SchemaChecksumLiquibase second = liquibase();
+        second.setLiquibaseSchema("MIGRATIONS");
+        second.afterPropertiesSet();
+
+        // Then
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select count(*) from migrations.databasechangelog where tag = ?", Integer.class, second.checksum()));
+    }
+
+    @Test
+    void afterPropertiesSet_WhenTablesHaveRows_ShouldMoveSequencesPastMaxId() throws Exception {
+        // Given
+        // База, созданная до появления последовательностей: id выдавал autoIncrement
+        SpringLiquibase initial = new SpringLiquibase();
+        initial.setDataSource(dataSource);
+        initial.setChangeLog("classpath:db/changelog/0.0.1/changes-0.0.1.xml");
+        initial.setResourceLoader(new DefaultResourceLoader());
+        initial.afterPropertiesSet();
+        jdbcTemplate.update("insert into hotel_owner (name) values ('John Smith')");
+        jdbcTemplate.update("insert into hotel (id, name, owner_id) values (120, 'Grand Paradise Hotel', 1)");
+
+        // When
+        liquibase().afterPropertiesSet();
+
+        // Then
+        // Pooled-оптимизатор выдаёт блок из 50 id, заканчивающийся полученным значением: блок целиком выше max(id)
+        assertEquals(171, nextValue("hotel_seq"));
+        assertEquals(52, nextValue("hotel_owner_seq"));
+        // В пустых таблицах последовательности начинаются как раньше
+        assertEquals(1, nextValue("room_seq"));
+        assertEquals(1, nextValue("booking_seq"));
+    }
+
+    @Test
+    void afterPropertiesSet_WhenBookingsPredateOccupancyLedger_ShouldBackfillIt() throws Exception {
+        // Given
+        // База до changeSet 5: брони есть, таблицы занятости еще нет
+        for (String version : new String[]{"0.0.1", "0.0.2", "0.0.3", "0.0.4"}) {
+            SpringLiquibase initial = new SpringLiquibase();
+            initial.setDataSource(dataSource);
+            initial.setChangeLog("classpath:db/changelog/" + version + "/changes-" + version + ".xml");
+            initial.setResourceLoader(new DefaultResourceLoader());
+            initial.afterPropertiesSet();
+        }
+        jdbcTemplate.update("insert into hotel_owner (id, name) values (1, 'John Smith')");
+        jdbcTemplate.update("insert into hotel (id, name, owner_id) values (1, 'Grand Paradise Hotel', 1)");
+        jdbcTemplate.update("insert into room_type (id, name, capacity, hotel_id) values (1, 'Standard', 2, 1)");
+        jdbcTemplate.update("insert into room (id, room_number, room_type_id, hotel_id) values (1, 'ST-001', 1, 1), (2, 'ST-002', 1, 1)");
+        jdbcTemplate.update("insert into booking (id, room_id, check_in_date, check_out_date, status) values " +
+                "(1, 1, date '2025-08-01', date '2025-08-04', 'CONFIRMED'), " +
+                "(2, 2, date '2025-08-03', date '2025-08-05', 'PENDING'), " +
+                "(3, 2, date '2025-08-01', date '2025-08-03', 'CANCELLED')");
+
+        // When
+        liquibase().afterPropertiesSet();
+
+        // Then
+        List<String> occupancy = jdbcTemplate.query(
+                "select stay_date, occupied from room_type_day_occupancy where room_type_id = 1 order by stay_date",
+                (rs, row) -> rs.getDate(1).toLocalDate() + "=" + rs.getInt(2));
+        assertEquals(List.of("2025-08-01=1", "2025-08-02=1", "2025-08-03=2", "2025-08-04=1"), occupancy);
+    }
+
+    private long nextValue(String sequence) {
+        return jdbcTemplate.queryForObject("select next value for " + sequence, Long.class);
+    }
+
+    private SchemaChecksumLiquibase liquibase() {
+        SchemaChecksumLiquibase liquibase = new SchemaChecksumLiquibase(CHANGELOG_FILES);
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog(CHANGELOG);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        return liquibase;
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.lukashindy.booking.controller;
+
+import com.github.lukashindy.booking.dto.BookingBatchResultDto;
+import com.github.lukashindy.booking.dto.BookingDto;
+import com.github.lukashindy.booking.exception.BadRequestException;
+import com.github.lukashindy.booking.mapper.BookingMapper;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.service.BookingBatchService;
+import com.github.lukashindy.booking.service.BookingStatusService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingControllerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingControllerTest.class);
+
+    @Mock
+    private BookingBatchService bookingBatchService;
+
+    @Mock
+    private BookingStatusService bookingStatusService;
+
+    @Mock
+    private BookingMapper bookingMapper;
+
+    @InjectMocks
+    private BookingController bookingController;
+
+    @Test
+    void createBookings_ShouldReturnPerItemResults() {
+        logger.info("Testing createBookings method");
+
+        // Given
+        List<BookingDto> requests = List.of(new BookingDto(), new BookingDto());
+        List<BookingBatchResultDto> expected = List.of(
+                BookingBatchResultDto.accepted(0, 100L),
+                BookingBatchResultDto.rejected(1, "Room is already booked for the requested dates"));
+        when(bookingBatchService.ingest(requests)).thenReturn(expected);
+
+        // When
+        ResponseEntity<List<BookingBatchResultDto>> response = bookingController.createBookings(requests);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(expected, response.getBody());
+
+        logger.info("createBookings test completed successfully");
+    }
+
+    @Test
+    void createBookings_WithEmptyOrOversizedBatch_ShouldThrowBadRequest() {
+        logger.info("Testing createBookings method with invalid batch size");
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> bookingController.createBookings(List.of()));
+        assertThrows(BadRequestException.class,
+                () -> bookingController.createBookings(Collections.nCopies(10_001, new BookingDto())));
+        verify(bookingBatchService, never()).ingest(any());
+
+        logger.info("createBookings invalid batch size test completed successfully");
+    }
+
+    @Test
+    void changeStatus_ShouldReturnUpdatedBooking() {
+        logger.info("Testing changeStatus method");
+
+        // Given
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setStatus(Booking.Status.CANCELLED);
+        BookingDto dto = new BookingDto();
+        dto.setId(1L);
+        dto.setStatus("CANCELLED");
+        when(bookingStatusService.changeStatus(1L, Booking.Status.CANCELLED)).thenReturn(booking);
+        when(bookingMapper.toDto(booking)).thenReturn(dto);
+
+        // When
+        ResponseEntity<BookingDto> response = bookingController.changeStatus(1L, Booking.Status.CANCELLED);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(dto, response.getBody());
+
+        logger.info("changeStatus test completed successfully");
+    }
+}
@@ -0,0 +1,207 @@
+package com.github.lukashindy.booking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.lukashindy.booking.mapper.BookingMapper;
+import com.github.lukashindy.booking.mapper.RoomMapper;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ExportControllerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportControllerTest.class);
+
+    private static final int SYNTHETIC_BOOKINGS = 1_000_000;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private ExportController exportController;
+
+    private Hotel testHotel;
+    private RoomType testRoomType;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for ExportControllerTest");
+
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ReflectionTestUtils.setField(exportController, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(exportController, "roomMapper", Mappers.getMapper(RoomMapper.class));
+        ReflectionTestUtils.setField(exportController, "bookingMapper", Mappers.getMapper(BookingMapper.class));
+        // Заглушка без записи вызовов: мок Mockito запоминал бы миллион вызовов detach()
+        EntityManager entityManager = (EntityManager) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{EntityManager.class}, (proxy, method, args) -> null);
+        ReflectionTestUtils.setField(exportController, "entityManager", entityManager);
+        ReflectionTestUtils.setField(exportController, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+
+        testHotel = new Hotel();
+        testHotel.setId(1L);
+        testHotel.setName("Grand Paradise Hotel");
+        testHotel.setCity("Male");
+        testHotel.setCountry("Maldives");
+
+        testRoomType = new RoomType();
+        testRoomType.setId(1L);
+        testRoomType.setName("Standard");
+        testRoomType.setCapacity(2);
+        testRoomType.setHotel(testHotel);
+
+        logger.info("Test data setup completed");
+    }
+
+    @Test
+    void exportRooms_ShouldWriteOneJsonLinePerRoom() throws Exception {
+        logger.info("Testing exportRooms method");
+
+        // Given
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Room> rooms = Stream.of(room(1L, "ST-001"), room(2L, "ST-002"))
+                .onClose(() -> closed.set(true));
+        when(roomRepository.streamAllWithDetails()).thenReturn(rooms);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(exportController).build();
+
+        // When
+        // Тело пишется в асинхронной обработке MVC, как в приложении, а не прямым вызовом writeTo
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/export/rooms"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        // Then
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"roomNumber\":\"ST-001\""));
+        assertTrue(lines[1].contains("\"hotelName\":\"Grand Paradise Hotel\""));
+        assertTrue(closed.get(), "Repository stream must be closed after export");
+
+        logger.info("exportRooms test completed successfully");
+    }
+
+    @Test
+    void exportBookings_ShouldStreamMillionBookingsWithoutBuffering() throws Exception {
+        logger.info("Testing exportBookings method with {} synthetic bookings", SYNTHETIC_BOOKINGS);
+
+        // Given
+        // Брони генерируются лениво по мере чтения, как курсор по таблице
+        Room room = room(1L, "ST-001");
+        UUID clientId = UUID.randomUUID();
+        Stream<Booking> bookings = LongStream.rangeClosed(1, SYNTHETIC_BOOKINGS)
+                .mapToObj(id -> booking(id, room, clientId));
+        when(bookingRepository.streamAll()).thenReturn(bookings);
+        LineCountingOutputStream out = new LineCountingOutputStream();
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = exportController.exportBookings();
+        response.getBody().writeTo(out);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(SYNTHETIC_BOOKINGS, out.lines);
+        assertTrue(out.lastLine.contains("\"id\":" + SYNTHETIC_BOOKINGS));
+        assertTrue(out.lastLine.contains("\"checkInDate\":\"2025-08-01\""));
+
+        logger.info("exportBookings streamed {} lines, {} bytes", out.lines, out.bytes);
+    }
+
+    private Room room(Long id, String roomNumber) {
+        Room room = new Room();
+        room.setId(id);
+        room.setRoomNumber(roomNumber);
+        room.setRoomType(testRoomType);
+        room.setHotel(testHotel);
+        return room;
+    }
+
+    private Booking booking(long id, Room room, UUID clientId) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setRoom(room);
+        booking.setClientId(clientId);
+        booking.setCheckInDate(LocalDate.of(2025, 8, 1));
+        booking.setCheckOutDate(LocalDate.of(2025, 8, 5));
+        booking.setGuestFullNames("John Doe");
+        booking.setStatus(Booking.Status.CONFIRMED);
+        return booking;
+    }
+
+    // Считает строки и хранит только последнюю, не накапливая весь ответ
+    private static class LineCountingOutputStream extends OutputStream {
+        private final StringBuilder current = new StringBuilder();
+        private String lastLine = "";
+        private long lines;
+        private long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+                lastLine = current.toString();
+                current.setLength(0);
+            } else {
+                current.append((char) b);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.github.lukashindy.booking.controller;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Выгрузка миллиона броней из настоящей базы в JVM с -Xmx64m (отдельный форк surefire в профиле memory-tests).
+ * Сущности миллиона броней в куче не помещаются: тест проходит, только если строки читаются курсором
+ * и отпускаются по одной. База файловая, чтобы сами данные H2 не лежали в той же куче.
+ * Запрос идет через MockMvc с асинхронной обработкой и таймаутом из spring.mvc.async.request-timeout,
+ * как в приложении; тело ответа считает фильтр и в MockHttpServletResponse не копится.
+ * LAZY_QUERY_EXECUTION: без него H2 целиком собирает результат запроса до первой строки (с выгрузкой во временный файл).
+ * AUTO_COMPACT_FILL_RATE=0: фоновое сжатие файла удаляет страницы, которые ещё читает открытый курсор.
+ */
+@Tag("memory")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./" + ExportStreamingMemoryTest.DATABASE_DIR + "/bookings;" +
+                "CACHE_SIZE=1024;LAZY_QUERY_EXECUTION=1;AUTO_COMPACT_FILL_RATE=0",
+        "booking.status-job.cron=-",
+        "logging.level.com.github.lukashindy=WARN"
+})
+@AutoConfigureMockMvc
+class ExportStreamingMemoryTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportStreamingMemoryTest.class);
+
+    static final String DATABASE_DIR = "target/export-memory";
+
+    private static final int BOOKINGS = 1_000_000;
+    private static final int SEED_CHUNK = 100_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CountingFilter countingFilter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.mvc.async.request-timeout}")
+    private Duration asyncRequestTimeout;
+
+    // Контекст (и база) поднимается после @BeforeAll: файл прошлого запуска удаляется до миграций
+    @BeforeAll
+    static void deletePreviousDatabase() throws IOException {
+        FileSystemUtils.deleteRecursively(Path.of(DATABASE_DIR));
+    }
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Seeding {} bookings for ExportStreamingMemoryTest", BOOKINGS);
+
+        // Брони на одну из комнат демонстрационного отеля (DataLoader); порциями с автокоммитом:
+        // одна транзакция на миллион строк держала бы свой undo-журнал в той же куче
+        Long roomId = jdbcTemplate.queryForObject("select min(id) from room", Long.class);
+        for (int from = 1; from <= BOOKINGS; from += SEED_CHUNK) {
+            jdbcTemplate.update("insert into booking (id, room_id, check_in_date, check_out_date, guest_full_names, status) " +
+                    "select x, ?, date '2025-01-01' + cast(mod(x, 365) as int), date '2025-01-02' + cast(mod(x, 365) as int), " +
+                    "'Guest ' || x, 'CONFIRMED' from system_range(?, ?)", roomId, from, from + SEED_CHUNK - 1);
+        }
+    }
+
+    @Test
+    void exportBookings_ShouldStreamMillionRowsInSmallHeap() throws Exception {
+        // Given
+        resetPeakUsage();
+
+        // When
+        long started = System.nanoTime();
+        MvcResult asyncResult = mockMvc.perform(get("/api/v1/export/bookings"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        // Then
+        CountingOutputStream out = countingFilter.out;
+        logger.warn("Exported {} bookings ({} MB) in {} ms with -Xmx{} MB, peak heap {} MB", out.lines,
+                out.bytes >> 20, elapsedMs, Runtime.getRuntime().maxMemory() >> 20, peakHeapUsage() >> 20);
+        assertEquals(BOOKINGS, out.lines);
+        assertEquals(0, asyncResult.getResponse().getContentAsByteArray().length);
+        assertEquals(asyncRequestTimeout.toMillis(), asyncResult.getRequest().getAsyncContext().getTimeout());
+        assertTrue(elapsedMs < asyncRequestTimeout.toMillis(), "Export must finish within the async request timeout");
+        assertTrue(Runtime.getRuntime().maxMemory() <= 64L << 20, "Run with mvn -Pmemory-tests test");
+    }
+
+    private static void resetPeakUsage() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeapUsage() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    @TestConfiguration
+    static class CountingFilterConfig {
+
+        @Bean
+        CountingFilter countingFilter() {
+            return new CountingFilter();
+        }
+    }
+
+    // Подменяет поток ответа выгрузки: StreamingResponseBody пишет в ответ, прошедший через цепочку фильтров
+    static class CountingFilter extends OncePerRequestFilter {
+        private final CountingOutputStream out = new CountingOutputStream();
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            return !request.getRequestURI().startsWith("/api/v1/export");
+        }
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                throws ServletException, IOException {
+            chain.doFilter(request, new HttpServletResponseWrapper(response) {
+                @Override
+                public ServletOutputStream getOutputStream() {
+                    return out;
+                }
+            });
+        }
+    }
+
+    // Ответ никуда не сохраняется: считаются только байты и строки NDJSON
+    private static class CountingOutputStream extends ServletOutputStream {
+        private long bytes;
+        private long lines;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    lines++;
+                }
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
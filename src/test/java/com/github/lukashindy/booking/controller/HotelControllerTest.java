@@ -1,22 +1,32 @@
 package com.github.lukashindy.booking.controller;
 
+import com.github.lukashindy.booking.dto.CursorPageDto;
 import com.github.lukashindy.booking.dto.HotelDto;
+import com.github.lukashindy.booking.dto.OccupancyDto;
+import com.github.lukashindy.booking.exception.BadRequestException;
 import com.github.lukashindy.booking.exception.ResourceNotFoundException;
 import com.github.lukashindy.booking.mapper.HotelMapper;
 import com.github.lukashindy.booking.model.Hotel;
 import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.repository.CatalogVersion;
 import com.github.lukashindy.booking.repository.HotelRepository;
+import com.github.lukashindy.booking.service.OccupancyService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -36,9 +46,15 @@ class HotelControllerTest {
     @Mock
     private HotelMapper hotelMapper;
     
+    @Mock
+    private OccupancyService occupancyService;
+    
     @InjectMocks
     private HotelController hotelController;
     
+    private MockHttpServletRequest httpRequest;
+    private MockHttpServletResponse httpResponse;
+    private ServletWebRequest webRequest;
     private Hotel testHotel;
     private HotelDto testHotelDto;
     private HotelOwner testOwner;
@@ -47,6 +63,10 @@ class HotelControllerTest {
     void setUp() {
         logger.info("Setting up test data for HotelControllerTest");
         
+        httpRequest = new MockHttpServletRequest("GET", "/");
+        httpResponse = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(httpRequest, httpResponse);
+        
         // Создаем тестового владельца отеля
         testOwner = new HotelOwner();
         testOwner.setId(1L);
@@ -82,22 +102,23 @@ class HotelControllerTest {
         // Given
         List<Hotel> hotels = Arrays.asList(testHotel);
         
-        when(hotelRepository.findAll()).thenReturn(hotels);
+        when(hotelRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(51))).thenReturn(hotels);
         when(hotelMapper.toDto(any(Hotel.class))).thenReturn(testHotelDto);
         
         // When
-        ResponseEntity<List<HotelDto>> response = hotelController.getAllHotels();
+        ResponseEntity<CursorPageDto<HotelDto>> response = hotelController.getAllHotels(null, 50, webRequest);
         
         // Then
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        List<HotelDto> responseBody = response.getBody();
+        List<HotelDto> responseBody = response.getBody().getItems();
         assertNotNull(responseBody);
         assertEquals(1, responseBody.size());
         assertEquals(testHotelDto.getName(), responseBody.get(0).getName());
+        assertNull(response.getBody().getNextCursor());
         
-        verify(hotelRepository, times(1)).findAll();
+        verify(hotelRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(51));
         verify(hotelMapper, times(1)).toDto(testHotel);
         
         logger.info("getAllHotels test completed successfully");
@@ -108,20 +129,21 @@ class HotelControllerTest {
         logger.info("Testing getAllHotels method with empty result");
         
         // Given
-        when(hotelRepository.findAll()).thenReturn(Arrays.asList());
+        when(hotelRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(51))).thenReturn(Arrays.asList());
         
         // When
-        ResponseEntity<List<HotelDto>> response = hotelController.getAllHotels();
+        ResponseEntity<CursorPageDto<HotelDto>> response = hotelController.getAllHotels(null, 50, webRequest);
         
         // Then
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        List<HotelDto> responseBody = response.getBody();
+        List<HotelDto> responseBody = response.getBody().getItems();
         assertNotNull(responseBody);
         assertTrue(responseBody.isEmpty());
+        assertNull(response.getBody().getNextCursor());
         
-        verify(hotelRepository, times(1)).findAll();
+        verify(hotelRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(51));
         verify(hotelMapper, never()).toDto(any(Hotel.class));
         
         logger.info("getAllHotels empty test completed successfully");
@@ -164,4 +186,103 @@ class HotelControllerTest {
         
         assertThrows(ResourceNotFoundException.class, () -> hotelController.getHotelById(hotelId));
     }
+    
+    @Test
+    void getAllHotels_ShouldReturnNextCursor_WhenMoreItemsExist() {
+        logger.info("Testing getAllHotels method with a following page");
+        
+        // Given
+        Hotel second = new Hotel();
+        second.setId(2L);
+        Hotel third = new Hotel();
+        third.setId(3L);
+        HotelDto secondDto = new HotelDto();
+        secondDto.setId(2L);
+        HotelDto thirdDto = new HotelDto();
+        thirdDto.setId(3L);
+        
+        // Запрашиваем limit + 1 строк, чтобы понять, есть ли следующая страница
+        when(hotelRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(2)))
+                .thenReturn(Arrays.asList(second, third));
+        when(hotelMapper.toDto(second)).thenReturn(secondDto);
+        when(hotelMapper.toDto(third)).thenReturn(thirdDto);
+        
+        // When
+        ResponseEntity<CursorPageDto<HotelDto>> response = hotelController.getAllHotels(1L, 1, webRequest);
+        
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        CursorPageDto<HotelDto> page = response.getBody();
+        assertNotNull(page);
+        assertEquals(1, page.getItems().size());
+        assertEquals(2L, page.getItems().get(0).getId());
+        assertEquals(2L, page.getNextCursor());
+        
+        logger.info("getAllHotels next cursor test completed successfully");
+    }
+    
+    @Test
+    void getAllHotels_ShouldReturnNotModified_WhenETagMatches() {
+        logger.info("Testing getAllHotels method with a matching If-None-Match");
+        
+        // Given
+        CatalogVersion version = new CatalogVersion(1, 1L, 0L, null);
+        when(hotelRepository.findCatalogVersionsByIdGreaterThan(0L, Limit.of(51))).thenReturn(List.of(version));
+        httpRequest.addHeader("If-None-Match", version.eTag());
+        
+        // When
+        ResponseEntity<CursorPageDto<HotelDto>> response = hotelController.getAllHotels(null, 50, webRequest);
+        
+        // Then
+        // Ответ 304 выставлен через webRequest, страница отелей не загружается
+        assertNull(response);
+        assertEquals(304, httpResponse.getStatus());
+        assertEquals(version.eTag(), httpResponse.getHeader("ETag"));
+        verify(hotelRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+        
+        logger.info("getAllHotels not modified test completed successfully");
+    }
+    
+    @Test
+    void getAllHotels_ShouldRejectInvalidLimit() {
+        logger.info("Testing getAllHotels method with invalid limit");
+        
+        assertThrows(BadRequestException.class, () -> hotelController.getAllHotels(null, 0, webRequest));
+        assertThrows(BadRequestException.class, () -> hotelController.getAllHotels(null, 501, webRequest));
+        verify(hotelRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
+    
+    @Test
+    void getOccupancy_ShouldParseGranularityAndDelegateToService() {
+        logger.info("Testing getOccupancy method");
+        
+        // Given
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 1);
+        OccupancyDto occupancy = new OccupancyDto();
+        when(hotelRepository.findById(1L)).thenReturn(Optional.of(testHotel));
+        when(occupancyService.getOccupancy(1L, from, to, OccupancyDto.Granularity.WEEK)).thenReturn(occupancy);
+        
+        // When
+        ResponseEntity<OccupancyDto> response = hotelController.getOccupancy(1L, from, to, "week");
+        
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(occupancy, response.getBody());
+        
+        logger.info("getOccupancy test completed successfully");
+    }
+    
+    @Test
+    void getOccupancy_ShouldRejectInvalidRequests() {
+        logger.info("Testing getOccupancy method with invalid parameters");
+        
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        
+        assertThrows(BadRequestException.class, () -> hotelController.getOccupancy(1L, from, from, "day"));
+        assertThrows(BadRequestException.class, () -> hotelController.getOccupancy(1L, from, from.plusYears(3), "day"));
+        assertThrows(BadRequestException.class, () -> hotelController.getOccupancy(1L, from, from.plusDays(7), "quarter"));
+        verify(occupancyService, never()).getOccupancy(any(), any(), any(), any());
+    }
 }
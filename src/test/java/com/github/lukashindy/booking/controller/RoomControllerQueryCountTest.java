@@ -0,0 +1,212 @@
+package com.github.lukashindy.booking.controller;
+
+import com.github.lukashindy.booking.dto.RoomListingDto;
+import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
+import com.github.lukashindy.booking.mapper.HotelMapperImpl;
+import com.github.lukashindy.booking.mapper.RoomMapperImpl;
+import com.github.lukashindy.booking.mapper.RoomTypeMapperImpl;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.service.RoomCalendarIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({RoomController.class, RoomMapperImpl.class, HotelMapperImpl.class, RoomTypeMapperImpl.class, RoomCalendarIndex.class})
+class RoomControllerQueryCountTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomControllerQueryCountTest.class);
+
+    private static final int ROOM_TYPES = 3;
+    private static final int ROOMS_PER_TYPE = 5;
+
+    @Autowired
+    private RoomController roomController;
+
+    @Autowired
+    private RoomCalendarIndex roomCalendarIndex;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long hotelId;
+    private Long roomTypeId;
+    private Long roomId;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Seeding hotel with {} rooms for RoomControllerQueryCountTest", ROOM_TYPES * ROOMS_PER_TYPE);
+
+        HotelOwner owner = new HotelOwner();
+        owner.setName("John Smith");
+        entityManager.persist(owner);
+
+        Hotel hotel = new Hotel();
+        hotel.setName("Grand Paradise Hotel");
+        hotel.setCity("Male");
+        hotel.setCountry("Maldives");
+        hotel.setOwner(owner);
+        entityManager.persist(hotel);
+        hotelId = hotel.getId();
+
+        for (int t = 0; t < ROOM_TYPES; t++) {
+            RoomType roomType = new RoomType();
+            roomType.setName("Type " + t);
+            roomType.setCapacity(2);
+            roomType.setHotel(hotel);
+            entityManager.persist(roomType);
+            roomTypeId = roomType.getId();
+
+            for (int r = 0; r < ROOMS_PER_TYPE; r++) {
+                Room room = new Room();
+                room.setRoomNumber(String.format("T%d-%03d", t, r));
+                room.setRoomType(roomType);
+                room.setHotel(hotel);
+                entityManager.persist(room);
+                roomId = room.getId();
+            }
+        }
+
+        // Сбрасываем контекст и кэш второго уровня, чтобы связи грузились из БД
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void getRoomsByHotelId_ShouldIssueVersionLookupAndSingleStatement() {
+        ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+        List<RoomWithDetailsDto> rooms = roomController.getRoomsByHotelId(hotelId, webRequest).getBody();
+
+        assertNotNull(rooms);
+        assertEquals(ROOM_TYPES * ROOMS_PER_TYPE, rooms.size());
+        rooms.forEach(room -> {
+            assertNotNull(room.getRoomTypeName());
+            assertEquals("Grand Paradise Hotel", room.getHotelName());
+        });
+        // Запрос версии для ETag и одна выборка комнат со связями
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getRoomListingByHotelId_ShouldIssueVersionLookupAndSingleStatement() {
+        ServletWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse());
+        RoomListingDto listing = roomController.getRoomListingByHotelId(hotelId, webRequest).getBody();
+
+        assertNotNull(listing);
+        assertEquals(ROOM_TYPES * ROOMS_PER_TYPE, listing.getRooms().size());
+        assertEquals(ROOM_TYPES, listing.getRoomTypes().size());
+        assertEquals(1, listing.getHotels().size());
+        assertEquals("Grand Paradise Hotel", listing.getHotels().get(0).getName());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getRoomsByHotelIds_ShouldIssueSingleStatement() {
+        Map<Long, List<RoomWithDetailsDto>> roomsByHotel =
+                roomController.getRoomsByHotelIds(List.of(hotelId, hotelId + 1000)).getBody();
+
+        assertNotNull(roomsByHotel);
+        assertEquals(ROOM_TYPES * ROOMS_PER_TYPE, roomsByHotel.get(hotelId).size());
+        roomsByHotel.get(hotelId).forEach(room -> assertNotNull(room.getRoomTypeName()));
+        assertTrue(roomsByHotel.get(hotelId + 1000).isEmpty());
+        // Одна выборка со списком in, тип комнаты и отель подтягиваются в том же запросе
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getRoomsByRoomTypeId_ShouldIssueSingleStatement() {
+        List<RoomWithDetailsDto> rooms = roomController.getRoomsByRoomTypeId(roomTypeId).getBody();
+
+        assertNotNull(rooms);
+        assertEquals(ROOMS_PER_TYPE, rooms.size());
+        rooms.forEach(room -> {
+            assertNotNull(room.getRoomTypeName());
+            assertEquals("Male", room.getHotelCity());
+        });
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAvailableRoomsByHotelId_OutsideCalendarWindow_ShouldIssueSingleStatement() {
+        // Прошедшие даты календарь не покрывает: свободные комнаты ищет запрос в БД
+        List<RoomWithDetailsDto> rooms = roomController.getAvailableRoomsByHotelId(
+                hotelId, LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 5)).getBody();
+
+        assertNotNull(rooms);
+        assertEquals(ROOM_TYPES * ROOMS_PER_TYPE, rooms.size());
+        rooms.forEach(room -> assertNotNull(room.getRoomTypeName()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getAvailableRoomsByHotelId_WithinCalendarWindow_ShouldIssueTwoStatementsOnColdCache() {
+        // Given
+        LocalDate from = LocalDate.now().plusDays(10);
+        LocalDate to = from.plusDays(4);
+        Booking booking = new Booking();
+        booking.setRoom(entityManager.getReference(Room.class, roomId));
+        booking.setCheckInDate(from.plusDays(1));
+        booking.setCheckOutDate(from.plusDays(2));
+        booking.setGuestFullNames("Jane Doe");
+        booking.setStatus(Booking.Status.CONFIRMED);
+        entityManager.persist(booking);
+        entityManager.flush();
+        entityManager.clear();
+        roomCalendarIndex.rebuild();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+
+        // When
+        List<RoomWithDetailsDto> rooms = roomController.getAvailableRoomsByHotelId(hotelId, from, to).getBody();
+
+        // Then
+        assertNotNull(rooms);
+        assertEquals(ROOM_TYPES * ROOMS_PER_TYPE - 1, rooms.size());
+        rooms.forEach(room -> {
+            assertNotEquals(roomId, room.getId());
+            assertNotNull(room.getRoomTypeName());
+            assertEquals("Grand Paradise Hotel", room.getHotelName());
+        });
+        // Id комнат отеля и одна выборка свободных комнат со связями, без запроса на каждую комнату
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getRoomById_ShouldIssueSingleStatement() {
+        RoomWithDetailsDto room = roomController.getRoomById(roomId).getBody();
+
+        assertNotNull(room);
+        assertNotNull(room.getRoomTypeName());
+        assertEquals("Maldives", room.getHotelCountry());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -1,13 +1,21 @@
 package com.github.lukashindy.booking.controller;
 
+import com.github.lukashindy.booking.dto.HotelDto;
 import com.github.lukashindy.booking.dto.RoomDto;
+import com.github.lukashindy.booking.dto.RoomListingDto;
+import com.github.lukashindy.booking.dto.RoomTypeDto;
 import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
+import com.github.lukashindy.booking.exception.BadRequestException;
 import com.github.lukashindy.booking.exception.ResourceNotFoundException;
+import com.github.lukashindy.booking.mapper.HotelMapper;
 import com.github.lukashindy.booking.mapper.RoomMapper;
+import com.github.lukashindy.booking.mapper.RoomTypeMapper;
 import com.github.lukashindy.booking.model.Hotel;
 import com.github.lukashindy.booking.model.Room;
 import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.CatalogVersion;
 import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.service.RoomCalendarIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,9 +24,14 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -38,9 +51,21 @@ class RoomControllerTest {
     @Mock
     private RoomMapper roomMapper;
     
+    @Mock
+    private HotelMapper hotelMapper;
+    
+    @Mock
+    private RoomTypeMapper roomTypeMapper;
+    
+    @Mock
+    private RoomCalendarIndex roomCalendarIndex;
+    
     @InjectMocks
     private RoomController roomController;
     
+    private MockHttpServletRequest httpRequest;
+    private MockHttpServletResponse httpResponse;
+    private ServletWebRequest webRequest;
     private Room testRoom;
     private RoomDto testRoomDto;
     private RoomWithDetailsDto testRoomWithDetailsDto;
@@ -51,6 +76,10 @@ class RoomControllerTest {
     void setUp() {
         logger.info("Setting up test data for RoomControllerTest");
         
+        httpRequest = new MockHttpServletRequest("GET", "/");
+        httpResponse = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(httpRequest, httpResponse);
+        
         // Создаем тестовый отель
         testHotel = new Hotel();
         testHotel.setId(1L);
@@ -102,11 +131,12 @@ class RoomControllerTest {
         Long hotelId = 1L;
         List<Room> rooms = Arrays.asList(testRoom);
         
-        when(roomRepository.findByHotelId(hotelId)).thenReturn(rooms);
+        when(roomRepository.findCatalogVersionByHotelId(hotelId)).thenReturn(new CatalogVersion(1, 1L, 0L, null));
+        when(roomRepository.findWithDetailsByHotelId(hotelId)).thenReturn(rooms);
         when(roomMapper.toDetailedDto(any(Room.class))).thenReturn(testRoomWithDetailsDto);
         
         // When
-        ResponseEntity<List<RoomWithDetailsDto>> response = roomController.getRoomsByHotelId(hotelId);
+        ResponseEntity<List<RoomWithDetailsDto>> response = roomController.getRoomsByHotelId(hotelId, webRequest);
         
         // Then
         assertNotNull(response);
@@ -119,7 +149,7 @@ class RoomControllerTest {
         assertEquals(testRoomWithDetailsDto.getHotelName(), responseBody.get(0).getHotelName());
         assertEquals(testRoomWithDetailsDto.getRoomTypeName(), responseBody.get(0).getRoomTypeName());
         
-        verify(roomRepository, times(1)).findByHotelId(hotelId);
+        verify(roomRepository, times(1)).findWithDetailsByHotelId(hotelId);
         verify(roomMapper, times(1)).toDetailedDto(testRoom);
         
         logger.info("getRoomsByHotelId test completed successfully");
@@ -131,10 +161,11 @@ class RoomControllerTest {
         
         // Given
         Long hotelId = 999L;
-        when(roomRepository.findByHotelId(hotelId)).thenReturn(Arrays.asList());
+        when(roomRepository.findCatalogVersionByHotelId(hotelId)).thenReturn(new CatalogVersion(0, 0L, 0L, null));
+        when(roomRepository.findWithDetailsByHotelId(hotelId)).thenReturn(Arrays.asList());
         
         // When
-        ResponseEntity<List<RoomWithDetailsDto>> response = roomController.getRoomsByHotelId(hotelId);
+        ResponseEntity<List<RoomWithDetailsDto>> response = roomController.getRoomsByHotelId(hotelId, webRequest);
         
         // Then
         assertNotNull(response);
@@ -144,12 +175,95 @@ class RoomControllerTest {
         assertNotNull(responseBody);
         assertTrue(responseBody.isEmpty());
         
-        verify(roomRepository, times(1)).findByHotelId(hotelId);
+        verify(roomRepository, times(1)).findWithDetailsByHotelId(hotelId);
         verify(roomMapper, never()).toDetailedDto(any(Room.class));
         
         logger.info("getRoomsByHotelId empty test completed successfully");
     }
     
+    @Test
+    void getRoomsByHotelId_ShouldSetETagAndLastModified() {
+        logger.info("Testing getRoomsByHotelId method validators");
+        
+        // Given
+        Long hotelId = 1L;
+        Instant updatedAt = Instant.parse("2025-08-01T10:15:30Z");
+        CatalogVersion version = new CatalogVersion(1, 1L, 3L, updatedAt);
+        when(roomRepository.findCatalogVersionByHotelId(hotelId)).thenReturn(version);
+        when(roomRepository.findWithDetailsByHotelId(hotelId)).thenReturn(Arrays.asList(testRoom));
+        when(roomMapper.toDetailedDto(testRoom)).thenReturn(testRoomWithDetailsDto);
+        
+        // When
+        ResponseEntity<List<RoomWithDetailsDto>> response = roomController.getRoomsByHotelId(hotelId, webRequest);
+        
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("W/\"v-1-1-3\"", httpResponse.getHeader("ETag"));
+        assertEquals(updatedAt.toEpochMilli(), httpResponse.getDateHeader("Last-Modified"));
+        
+        logger.info("getRoomsByHotelId validators test completed successfully");
+    }
+    
+    @Test
+    void getRoomsByHotelId_ShouldReturnNotModified_WhenETagMatches() {
+        logger.info("Testing getRoomsByHotelId method with a matching If-None-Match");
+        
+        // Given
+        Long hotelId = 1L;
+        CatalogVersion version = new CatalogVersion(1, 1L, 3L, null);
+        when(roomRepository.findCatalogVersionByHotelId(hotelId)).thenReturn(version);
+        httpRequest.addHeader("If-None-Match", version.eTag());
+        
+        // When
+        ResponseEntity<List<RoomWithDetailsDto>> response = roomController.getRoomsByHotelId(hotelId, webRequest);
+        
+        // Then
+        assertNull(response);
+        assertEquals(304, httpResponse.getStatus());
+        verify(roomRepository, never()).findWithDetailsByHotelId(any());
+        verify(roomMapper, never()).toDetailedDto(any(Room.class));
+        
+        logger.info("getRoomsByHotelId not modified test completed successfully");
+    }
+    
+    @Test
+    void getRoomListingByHotelId_ShouldReferenceHotelAndRoomTypesOnce() {
+        logger.info("Testing getRoomListingByHotelId method");
+        
+        // Given
+        Long hotelId = 1L;
+        Room secondRoom = new Room();
+        secondRoom.setId(2L);
+        secondRoom.setRoomNumber("ST-002");
+        secondRoom.setRoomType(testRoomType);
+        secondRoom.setHotel(testHotel);
+        when(roomRepository.findCatalogVersionByHotelId(hotelId)).thenReturn(new CatalogVersion(2, 3L, 0L, null));
+        when(roomRepository.findWithDetailsByHotelId(hotelId)).thenReturn(Arrays.asList(testRoom, secondRoom));
+        when(hotelMapper.toDto(testHotel)).thenReturn(new HotelDto());
+        when(roomTypeMapper.toDto(testRoomType)).thenReturn(new RoomTypeDto());
+        when(roomMapper.toDto(any(Room.class))).thenReturn(testRoomDto);
+        
+        // When
+        ResponseEntity<RoomListingDto> response = roomController.getRoomListingByHotelId(hotelId, webRequest);
+        
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        RoomListingDto listing = response.getBody();
+        assertNotNull(listing);
+        assertEquals(1, listing.getHotels().size());
+        assertEquals(1, listing.getRoomTypes().size());
+        assertEquals(2, listing.getRooms().size());
+        // У компактной формы свой ETag, отличный от детального списка
+        assertEquals("W/\"compact-2-3-0\"", httpResponse.getHeader("ETag"));
+        
+        verify(hotelMapper, times(1)).toDto(testHotel);
+        verify(roomTypeMapper, times(1)).toDto(testRoomType);
+        
+        logger.info("getRoomListingByHotelId test completed successfully");
+    }
+    
     @Test
     void getRoomsByRoomTypeId_ShouldReturnListOfRoomsWithDetails() {
         logger.info("Testing getRoomsByRoomTypeId method");
@@ -158,7 +272,7 @@ class RoomControllerTest {
         Long roomTypeId = 1L;
         List<Room> rooms = Arrays.asList(testRoom);
         
-        when(roomRepository.findByRoomTypeId(roomTypeId)).thenReturn(rooms);
+        when(roomRepository.findWithDetailsByRoomTypeId(roomTypeId)).thenReturn(rooms);
         when(roomMapper.toDetailedDto(any(Room.class))).thenReturn(testRoomWithDetailsDto);
         
         // When
@@ -174,19 +288,113 @@ class RoomControllerTest {
         assertEquals(testRoomWithDetailsDto.getRoomNumber(), responseBody.get(0).getRoomNumber());
         assertEquals(testRoomWithDetailsDto.getRoomTypeName(), responseBody.get(0).getRoomTypeName());
         
-        verify(roomRepository, times(1)).findByRoomTypeId(roomTypeId);
+        verify(roomRepository, times(1)).findWithDetailsByRoomTypeId(roomTypeId);
         verify(roomMapper, times(1)).toDetailedDto(testRoom);
         
         logger.info("getRoomsByRoomTypeId test completed successfully");
     }
     
+    @Test
+    void getAvailableRoomsByHotelId_ShouldReturnFreeRoomsWithDetails() {
+        logger.info("Testing getAvailableRoomsByHotelId method");
+        
+        // Given
+        Long hotelId = 1L;
+        LocalDate from = LocalDate.of(2025, 8, 1);
+        LocalDate to = LocalDate.of(2025, 8, 5);
+        
+        when(roomRepository.findAvailableByHotelId(hotelId, from, to)).thenReturn(Arrays.asList(testRoom));
+        when(roomMapper.toDetailedDto(testRoom)).thenReturn(testRoomWithDetailsDto);
+        
+        // When
+        ResponseEntity<List<RoomWithDetailsDto>> response = roomController.getAvailableRoomsByHotelId(hotelId, from, to);
+        
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<RoomWithDetailsDto> responseBody = response.getBody();
+        assertNotNull(responseBody);
+        assertEquals(1, responseBody.size());
+        assertEquals(testRoomWithDetailsDto.getRoomNumber(), responseBody.get(0).getRoomNumber());
+        
+        verify(roomRepository, times(1)).findAvailableByHotelId(hotelId, from, to);
+        
+        logger.info("getAvailableRoomsByHotelId test completed successfully");
+    }
+    
+    @Test
+    void getAvailableRoomsByRoomTypeId_ShouldReturnFreeRoomsWithDetails() {
+        logger.info("Testing getAvailableRoomsByRoomTypeId method");
+        
+        // Given
+        Long roomTypeId = 1L;
+        LocalDate from = LocalDate.of(2025, 8, 1);
+        LocalDate to = LocalDate.of(2025, 8, 2);
+        
+        when(roomRepository.findAvailableByRoomTypeId(roomTypeId, from, to)).thenReturn(Arrays.asList(testRoom));
+        when(roomMapper.toDetailedDto(testRoom)).thenReturn(testRoomWithDetailsDto);
+        
+        // When
+        ResponseEntity<List<RoomWithDetailsDto>> response = roomController.getAvailableRoomsByRoomTypeId(roomTypeId, from, to);
+        
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        List<RoomWithDetailsDto> responseBody = response.getBody();
+        assertNotNull(responseBody);
+        assertEquals(1, responseBody.size());
+        assertEquals(testRoomWithDetailsDto.getRoomTypeName(), responseBody.get(0).getRoomTypeName());
+        
+        verify(roomRepository, times(1)).findAvailableByRoomTypeId(roomTypeId, from, to);
+        
+        logger.info("getAvailableRoomsByRoomTypeId test completed successfully");
+    }
+    
+    @Test
+    void getAvailableRoomsByRoomTypeId_WithinCalendarWindow_ShouldFilterRoomsInMemory() {
+        logger.info("Testing getAvailableRoomsByRoomTypeId method with room calendar");
+        
+        // Given
+        Long roomTypeId = 1L;
+        LocalDate from = LocalDate.of(2025, 8, 1);
+        LocalDate to = LocalDate.of(2025, 8, 2);
+        
+        when(roomCalendarIndex.covers(from, to)).thenReturn(true);
+        when(roomRepository.findIdsByRoomTypeId(roomTypeId)).thenReturn(List.of(1L, 2L));
+        when(roomCalendarIndex.findFree(List.of(1L, 2L), from, to)).thenReturn(List.of(1L));
+        when(roomRepository.findWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(testRoom));
+        when(roomMapper.toDetailedDto(testRoom)).thenReturn(testRoomWithDetailsDto);
+        
+        // When
+        ResponseEntity<List<RoomWithDetailsDto>> response = roomController.getAvailableRoomsByRoomTypeId(roomTypeId, from, to);
+        
+        // Then
+        assertEquals(List.of(testRoomWithDetailsDto), response.getBody());
+        verify(roomRepository, never()).findAvailableByRoomTypeId(any(), any(), any());
+        verify(roomRepository, never()).findWithDetailsByRoomTypeId(any());
+        
+        logger.info("getAvailableRoomsByRoomTypeId with room calendar test completed successfully");
+    }
+    
+    @Test
+    void getAvailableRoomsByHotelId_ShouldRejectInvalidDateRange() {
+        logger.info("Testing getAvailableRoomsByHotelId method with invalid date range");
+        
+        // Given
+        LocalDate from = LocalDate.of(2025, 8, 5);
+        LocalDate to = LocalDate.of(2025, 8, 5);
+        
+        assertThrows(BadRequestException.class, () -> roomController.getAvailableRoomsByHotelId(1L, from, to));
+        verify(roomRepository, never()).findAvailableByHotelId(any(), any(), any());
+    }
+    
     @Test
     void getRoomById_ShouldReturnRoomWithDetails_WhenRoomExists() {
         logger.info("Testing getRoomById method with existing room");
         
         // Given
         Long roomId = 1L;
-        when(roomRepository.findById(roomId)).thenReturn(Optional.of(testRoom));
+        when(roomRepository.findWithDetailsById(roomId)).thenReturn(Optional.of(testRoom));
         when(roomMapper.toDetailedDto(testRoom)).thenReturn(testRoomWithDetailsDto);
         
         // When
@@ -203,7 +411,7 @@ class RoomControllerTest {
         assertEquals(testRoomWithDetailsDto.getHotelName(), responseBody.getHotelName());
         assertEquals(testRoomWithDetailsDto.getRoomTypeName(), responseBody.getRoomTypeName());
         
-        verify(roomRepository, times(1)).findById(roomId);
+        verify(roomRepository, times(1)).findWithDetailsById(roomId);
         verify(roomMapper, times(1)).toDetailedDto(testRoom);
         
         logger.info("getRoomById existing room test completed successfully");
@@ -215,7 +423,7 @@ class RoomControllerTest {
         
         // Given
         Long roomId = 999L;
-        when(roomRepository.findById(roomId)).thenReturn(Optional.empty());
+        when(roomRepository.findWithDetailsById(roomId)).thenReturn(Optional.empty());
         
         assertThrows(ResourceNotFoundException.class, () -> roomController.getRoomById(roomId));
     }
@@ -1,10 +1,13 @@
 package com.github.lukashindy.booking.controller;
 
+import com.github.lukashindy.booking.dto.CursorPageDto;
 import com.github.lukashindy.booking.dto.RoomTypeDto;
+import com.github.lukashindy.booking.exception.BadRequestException;
 import com.github.lukashindy.booking.exception.ResourceNotFoundException;
 import com.github.lukashindy.booking.mapper.RoomTypeMapper;
 import com.github.lukashindy.booking.model.Hotel;
 import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.CatalogVersion;
 import com.github.lukashindy.booking.repository.RoomTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,14 +15,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -39,6 +49,9 @@ class RoomTypeControllerTest {
     @InjectMocks
     private RoomTypeController roomTypeController;
     
+    private MockHttpServletRequest httpRequest;
+    private MockHttpServletResponse httpResponse;
+    private ServletWebRequest webRequest;
     private RoomType testRoomType;
     private RoomTypeDto testRoomTypeDto;
     private Hotel testHotel;
@@ -47,6 +60,10 @@ class RoomTypeControllerTest {
     void setUp() {
         logger.info("Setting up test data for RoomTypeControllerTest");
         
+        httpRequest = new MockHttpServletRequest("GET", "/");
+        httpResponse = new MockHttpServletResponse();
+        webRequest = new ServletWebRequest(httpRequest, httpResponse);
+        
         // Создаем тестовый отель
         testHotel = new Hotel();
         testHotel.setId(1L);
@@ -77,11 +94,12 @@ class RoomTypeControllerTest {
         Long hotelId = 1L;
         List<RoomType> roomTypes = Arrays.asList(testRoomType);
         
+        when(roomTypeRepository.findCatalogVersionByHotelId(hotelId)).thenReturn(new CatalogVersion(1, 1L, 0L, null));
         when(roomTypeRepository.findByHotelId(hotelId)).thenReturn(roomTypes);
         when(roomTypeMapper.toDto(any(RoomType.class))).thenReturn(testRoomTypeDto);
         
         // When
-        ResponseEntity<List<RoomTypeDto>> response = roomTypeController.getRoomTypesByHotelId(hotelId);
+        ResponseEntity<List<RoomTypeDto>> response = roomTypeController.getRoomTypesByHotelId(hotelId, webRequest);
         
         // Then
         assertNotNull(response);
@@ -104,10 +122,11 @@ class RoomTypeControllerTest {
         
         // Given
         Long hotelId = 999L;
+        when(roomTypeRepository.findCatalogVersionByHotelId(hotelId)).thenReturn(new CatalogVersion(0, 0L, 0L, null));
         when(roomTypeRepository.findByHotelId(hotelId)).thenReturn(Arrays.asList());
         
         // When
-        ResponseEntity<List<RoomTypeDto>> response = roomTypeController.getRoomTypesByHotelId(hotelId);
+        ResponseEntity<List<RoomTypeDto>> response = roomTypeController.getRoomTypesByHotelId(hotelId, webRequest);
         
         // Then
         assertNotNull(response);
@@ -123,6 +142,46 @@ class RoomTypeControllerTest {
         logger.info("getRoomTypesByHotelId empty test completed successfully");
     }
     
+    @Test
+    void getRoomTypesByHotelIds_ShouldGroupRoomTypesByRequestedHotels() {
+        logger.info("Testing getRoomTypesByHotelIds method");
+        
+        // Given
+        when(roomTypeRepository.findByHotelIdIn(any())).thenReturn(List.of(testRoomType));
+        when(roomTypeMapper.toDto(testRoomType)).thenReturn(testRoomTypeDto);
+        
+        // When
+        // Повторный id схлопывается, отель без типов комнат получает пустой список
+        ResponseEntity<Map<Long, List<RoomTypeDto>>> response =
+                roomTypeController.getRoomTypesByHotelIds(List.of(999L, 1L, 999L));
+        
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<Long, List<RoomTypeDto>> roomTypesByHotel = response.getBody();
+        assertNotNull(roomTypesByHotel);
+        assertEquals(List.of(999L, 1L), List.copyOf(roomTypesByHotel.keySet()));
+        assertTrue(roomTypesByHotel.get(999L).isEmpty());
+        assertEquals(List.of(testRoomTypeDto), roomTypesByHotel.get(1L));
+        
+        verify(roomTypeRepository, times(1)).findByHotelIdIn(Set.of(999L, 1L));
+        
+        logger.info("getRoomTypesByHotelIds test completed successfully");
+    }
+    
+    @Test
+    void getRoomTypesByHotelIds_WhenTooManyHotels_ShouldThrowBadRequest() {
+        logger.info("Testing getRoomTypesByHotelIds method with too many hotels");
+        
+        // Given
+        List<Long> hotelIds = LongStream.rangeClosed(1, 501).boxed().toList();
+        
+        // When & Then
+        assertThrows(BadRequestException.class, () -> roomTypeController.getRoomTypesByHotelIds(hotelIds));
+        verify(roomTypeRepository, never()).findByHotelIdIn(any());
+        
+        logger.info("getRoomTypesByHotelIds too many hotels test completed successfully");
+    }
+    
     @Test
     void getRoomTypeById_ShouldReturnRoomType_WhenRoomTypeExists() {
         logger.info("Testing getRoomTypeById method with existing room type");
@@ -168,24 +227,69 @@ class RoomTypeControllerTest {
         // Given
         List<RoomType> roomTypes = Arrays.asList(testRoomType);
         
-        when(roomTypeRepository.findAll()).thenReturn(roomTypes);
+        when(roomTypeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(51))).thenReturn(roomTypes);
         when(roomTypeMapper.toDto(any(RoomType.class))).thenReturn(testRoomTypeDto);
         
         // When
-        ResponseEntity<List<RoomTypeDto>> response = roomTypeController.getAllRoomTypes();
+        ResponseEntity<CursorPageDto<RoomTypeDto>> response = roomTypeController.getAllRoomTypes(null, 50);
         
         // Then
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
-        List<RoomTypeDto> responseBody = response.getBody();
+        List<RoomTypeDto> responseBody = response.getBody().getItems();
         assertNotNull(responseBody);
         assertEquals(1, responseBody.size());
         assertEquals(testRoomTypeDto.getName(), responseBody.get(0).getName());
+        assertNull(response.getBody().getNextCursor());
         
-        verify(roomTypeRepository, times(1)).findAll();
+        verify(roomTypeRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(51));
         verify(roomTypeMapper, times(1)).toDto(testRoomType);
         
         logger.info("getAllRoomTypes test completed successfully");
     }
+    
+    @Test
+    void getAllRoomTypes_ShouldReturnNextCursor_WhenMoreItemsExist() {
+        logger.info("Testing getAllRoomTypes method with a following page");
+        
+        // Given
+        RoomType second = new RoomType();
+        second.setId(2L);
+        RoomType third = new RoomType();
+        third.setId(3L);
+        RoomTypeDto secondDto = new RoomTypeDto();
+        secondDto.setId(2L);
+        RoomTypeDto thirdDto = new RoomTypeDto();
+        thirdDto.setId(3L);
+        
+        // Запрашиваем limit + 1 строк, чтобы понять, есть ли следующая страница
+        when(roomTypeRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(2)))
+                .thenReturn(Arrays.asList(second, third));
+        when(roomTypeMapper.toDto(second)).thenReturn(secondDto);
+        when(roomTypeMapper.toDto(third)).thenReturn(thirdDto);
+        
+        // When
+        ResponseEntity<CursorPageDto<RoomTypeDto>> response = roomTypeController.getAllRoomTypes(1L, 1);
+        
+        // Then
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        CursorPageDto<RoomTypeDto> page = response.getBody();
+        assertNotNull(page);
+        assertEquals(1, page.getItems().size());
+        assertEquals(2L, page.getItems().get(0).getId());
+        assertEquals(2L, page.getNextCursor());
+        
+        logger.info("getAllRoomTypes next cursor test completed successfully");
+    }
+    
+    @Test
+    void getAllRoomTypes_ShouldRejectInvalidLimit() {
+        logger.info("Testing getAllRoomTypes method with invalid limit");
+        
+        assertThrows(BadRequestException.class, () -> roomTypeController.getAllRoomTypes(null, 0));
+        assertThrows(BadRequestException.class, () -> roomTypeController.getAllRoomTypes(null, 501));
+        verify(roomTypeRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+    }
 }
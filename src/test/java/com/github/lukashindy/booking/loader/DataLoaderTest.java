@@ -22,6 +22,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,6 +42,9 @@ class DataLoaderTest {
     @Mock
     private RoomRepository roomRepository;
     
+    @Mock
+    private SyntheticDataSeeder syntheticDataSeeder;
+    
     @InjectMocks
     private DataLoader dataLoader;
     
@@ -90,7 +94,7 @@ class DataLoaderTest {
         when(hotelOwnerRepository.save(any(HotelOwner.class))).thenReturn(mockHotelOwner);
         when(hotelRepository.save(any(Hotel.class))).thenReturn(mockHotel);
         when(roomTypeRepository.save(any(RoomType.class))).thenReturn(mockRoomType);
-        when(roomRepository.save(any(Room.class))).thenReturn(mockRoom);
+        when(roomRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
         dataLoader.run();
@@ -105,9 +109,10 @@ class DataLoaderTest {
         // Проверяем, что создано 7 типов комнат (Standard, Standard Sea View, Deluxe, Comfort, King Size, Presidential, Economic)
         verify(roomTypeRepository, times(7)).save(any(RoomType.class));
         
-        // Проверяем, что создано правильное количество комнат
+        // Проверяем, что комнаты каждого типа сохранены одним saveAll
         // (количество зависит от конкретной реализации getRoomCount)
-        verify(roomRepository, times(70)).save(any(Room.class));
+        verify(roomRepository, times(7)).saveAll(anyIterable());
+        verify(roomRepository, never()).save(any(Room.class));
         
         logger.info("DataLoader run method test completed successfully");
     }
@@ -120,7 +125,7 @@ class DataLoaderTest {
         when(hotelOwnerRepository.save(any(HotelOwner.class))).thenReturn(mockHotelOwner);
         when(hotelRepository.save(any(Hotel.class))).thenReturn(mockHotel);
         when(roomTypeRepository.save(any(RoomType.class))).thenReturn(mockRoomType);
-        when(roomRepository.save(any(Room.class))).thenReturn(mockRoom);
+        when(roomRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
         dataLoader.run();
@@ -146,7 +151,7 @@ class DataLoaderTest {
         when(hotelOwnerRepository.save(any(HotelOwner.class))).thenReturn(mockHotelOwner);
         when(hotelRepository.save(any(Hotel.class))).thenReturn(mockHotel);
         when(roomTypeRepository.save(any(RoomType.class))).thenReturn(mockRoomType);
-        when(roomRepository.save(any(Room.class))).thenReturn(mockRoom);
+        when(roomRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
         dataLoader.run();
@@ -173,7 +178,7 @@ class DataLoaderTest {
         when(hotelOwnerRepository.save(any(HotelOwner.class))).thenReturn(mockHotelOwner);
         when(hotelRepository.save(any(Hotel.class))).thenReturn(mockHotel);
         when(roomTypeRepository.save(any(RoomType.class))).thenReturn(mockRoomType);
-        when(roomRepository.save(any(Room.class))).thenReturn(mockRoom);
+        when(roomRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
         dataLoader.run();
@@ -204,16 +209,19 @@ class DataLoaderTest {
         when(hotelOwnerRepository.save(any(HotelOwner.class))).thenReturn(mockHotelOwner);
         when(hotelRepository.save(any(Hotel.class))).thenReturn(mockHotel);
         when(roomTypeRepository.save(any(RoomType.class))).thenReturn(mockRoomType);
-        when(roomRepository.save(any(Room.class))).thenReturn(mockRoom);
+        when(roomRepository.saveAll(anyIterable())).thenAnswer(invocation -> invocation.getArgument(0));
         
         // When
         dataLoader.run();
         
         // Then
-        ArgumentCaptor<Room> roomCaptor = ArgumentCaptor.forClass(Room.class);
-        verify(roomRepository, times(70)).save(roomCaptor.capture());
+        ArgumentCaptor<List<Room>> roomCaptor = ArgumentCaptor.forClass(List.class);
+        verify(roomRepository, times(7)).saveAll(roomCaptor.capture());
         
-        List<Room> savedRooms = roomCaptor.getAllValues();
+        List<Room> savedRooms = roomCaptor.getAllValues().stream()
+                .flatMap(List::stream)
+                .toList();
+        assertEquals(70, savedRooms.size());
         
         // Проверяем, что все комнаты имеют правильный формат номера (XX-###)
         for (Room room : savedRooms) {
@@ -233,4 +241,40 @@ class DataLoaderTest {
         
         logger.info("Rooms creation test completed successfully");
     }
+    
+    @Test
+    void run_WhenDataAlreadyPresent_ShouldSkipLoading() throws Exception {
+        logger.info("Testing that existing data is not loaded twice");
+        
+        // Given
+        when(hotelRepository.count()).thenReturn(1L);
+        
+        // When
+        dataLoader.run();
+        
+        // Then
+        verify(hotelOwnerRepository, never()).save(any(HotelOwner.class));
+        verify(hotelRepository, never()).save(any(Hotel.class));
+        verify(syntheticDataSeeder, never()).seed();
+        
+        logger.info("Existing data test completed successfully");
+    }
+    
+    @Test
+    void run_WhenSeedingEnabled_ShouldDelegateToSeeder() throws Exception {
+        logger.info("Testing synthetic data seeding mode");
+        
+        // Given
+        when(syntheticDataSeeder.isEnabled()).thenReturn(true);
+        
+        // When
+        dataLoader.run();
+        
+        // Then
+        verify(syntheticDataSeeder).seed();
+        verify(hotelRepository, never()).save(any(Hotel.class));
+        verify(roomTypeRepository, never()).save(any(RoomType.class));
+        
+        logger.info("Synthetic data seeding test completed successfully");
+    }
 }
@@ -0,0 +1,129 @@
+package com.github.lukashindy.booking.loader;
+
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomTypeRepository;
+import com.github.lukashindy.booking.service.OccupancyLedger;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Заполнение на закоммиченных данных: отели пишутся из пула потоков в собственных транзакциях.
+ */
+@DataJpaTest(properties = {
+        "booking.seed.hotels=3",
+        "booking.seed.room-types-per-hotel=2",
+        "booking.seed.rooms-per-type=4",
+        "booking.seed.bookings-per-room=3",
+        "booking.seed.days=30",
+        "booking.seed.threads=2"
+})
+@Import({SyntheticDataSeeder.class, OccupancyLedger.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SyntheticDataSeederTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataSeederTest.class);
+
+    @Autowired
+    private SyntheticDataSeeder syntheticDataSeeder;
+
+    @Autowired
+    private OccupancyLedger occupancyLedger;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up SyntheticDataSeederTest");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from room_type_day_occupancy");
+        jdbcTemplate.update("delete from booking");
+        jdbcTemplate.update("delete from room");
+        jdbcTemplate.update("delete from room_type");
+        jdbcTemplate.update("delete from hotel");
+        jdbcTemplate.update("delete from hotel_owner");
+    }
+
+    @Test
+    void seed_ShouldWriteConfiguredDatasetWithoutOverlaps() {
+        // When
+        long rows = syntheticDataSeeder.seed();
+
+        // Then
+        // 3 отеля, 6 типов, 24 комнаты, 72 брони и строки занятости по ночам
+        assertEquals(105 + count("room_type_day_occupancy"), rows);
+        assertEquals(3, count("hotel"));
+        assertEquals(6, count("room_type"));
+        assertEquals(24, count("room"));
+        assertEquals(24, count("room_calendar"));
+        assertEquals(72, count("booking"));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from booking b1 join booking b2 on b1.room_id = b2.room_id and b1.id < b2.id " +
+                "where b1.check_in_date < b2.check_out_date and b2.check_in_date < b1.check_out_date", Integer.class));
+        // Занятость, посчитанная при заполнении, совпадает с бронями
+        assertTrue(occupancyLedger.check().isEmpty());
+    }
+
+    @Test
+    void seed_ShouldMoveSequencesPastGeneratedIds() {
+        // Given
+        syntheticDataSeeder.seed();
+        RoomType roomType = roomTypeRepository.findById(1L).orElseThrow();
+
+        // When
+        Room room = new Room();
+        room.setRoomNumber("NEW-1");
+        room.setRoomType(roomType);
+        room.setHotel(roomType.getHotel());
+        room = roomRepository.save(room);
+
+        Booking booking = new Booking();
+        booking.setRoom(room);
+        booking.setCheckInDate(LocalDate.of(2025, 8, 1));
+        booking.setCheckOutDate(LocalDate.of(2025, 8, 2));
+        booking.setStatus(Booking.Status.CREATED);
+        booking = bookingRepository.save(booking);
+
+        // Then
+        assertTrue(room.getId() > 24);
+        assertTrue(booking.getId() > 72);
+    }
+
+    private int count(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Integer.class);
+    }
+}
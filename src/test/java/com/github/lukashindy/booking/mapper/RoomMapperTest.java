@@ -1,6 +1,7 @@
 package com.github.lukashindy.booking.mapper;
 
 import com.github.lukashindy.booking.dto.RoomDto;
+import com.github.lukashindy.booking.dto.RoomWithDetailsDto;
 import com.github.lukashindy.booking.model.Room;
 import com.github.lukashindy.booking.model.RoomType;
 import com.github.lukashindy.booking.model.Hotel;
@@ -0,0 +1,84 @@
+package com.github.lukashindy.booking.metrics;
+
+import com.github.lukashindy.booking.repository.HotelRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Счетчики регионов кэша второго уровня доходят до /actuator/prometheus.
+ */
+@SpringBootTest(properties = "booking.status-job.cron=-")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class HibernateCacheMetricsTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(HibernateCacheMetricsTest.class);
+
+    private static final String HOTEL_REGION = "cache=\"com.github.lukashindy.booking.model.Hotel\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long hotelId;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for HibernateCacheMetricsTest");
+
+        // Отель демонстрационного набора (DataLoader)
+        hotelId = hotelRepository.findAll().get(0).getId();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void prometheus_ShouldExposeSecondLevelCacheCounters() throws Exception {
+        // Given
+        double hitsBefore = sample("cache_gets_total", HOTEL_REGION, "result=\"hit\"");
+
+        // When
+        // Каждый вызов вне транзакции открывает свою сессию: первый промахивается и кладет отель в регион
+        hotelRepository.findById(hotelId);
+        hotelRepository.findById(hotelId);
+        hotelRepository.findById(hotelId);
+
+        // Then
+        assertTrue(sample("cache_gets_total", HOTEL_REGION, "result=\"hit\"") >= hitsBefore + 2);
+        assertTrue(sample("cache_gets_total", HOTEL_REGION, "result=\"miss\"") >= 1);
+        assertTrue(sample("cache_puts_total", HOTEL_REGION) >= 1);
+        // Вытеснения и регион кэша запросов публикуются, даже пока счетчики нулевые
+        assertFalse(Double.isNaN(sample("cache_evictions_total", HOTEL_REGION)));
+        assertFalse(Double.isNaN(sample("cache_gets_total", "cache=\"default-query-results-region\"", "result=\"miss\"")));
+    }
+
+    private double sample(String metric, String... labels) throws Exception {
+        String body = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String line = body.lines()
+                .filter(l -> l.startsWith(metric + "{") && Arrays.stream(labels).allMatch(l::contains))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError(metric + " " + Arrays.toString(labels) + " not exposed:\n" + body));
+        logger.info("{}", line);
+        return Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1));
+    }
+}
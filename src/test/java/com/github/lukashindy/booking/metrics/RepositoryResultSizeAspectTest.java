@@ -0,0 +1,114 @@
+package com.github.lukashindy.booking.metrics;
+
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.repository.HotelRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({RepositoryResultSizeAspect.class, RepositoryResultSizeAspectTest.MetricsConfig.class})
+class RepositoryResultSizeAspectTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryResultSizeAspectTest.class);
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Hotel hotel;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for RepositoryResultSizeAspectTest");
+
+        HotelOwner owner = new HotelOwner();
+        owner.setName("John Smith");
+        entityManager.persist(owner);
+
+        hotel = new Hotel();
+        hotel.setName("Grand Paradise Hotel");
+        hotel.setOwner(owner);
+        entityManager.persist(hotel);
+        entityManager.flush();
+    }
+
+    @Test
+    void finderCalls_ShouldRecordResultSizePerRepositoryMethod() {
+        // When
+        hotelRepository.findAll();
+        hotelRepository.findById(hotel.getId());
+        hotelRepository.findById(-1L);
+        roomRepository.findByHotelId(hotel.getId());
+
+        // Then
+        assertEquals(1, summary("HotelRepository", "findAll").totalAmount());
+        DistributionSummary findById = summary("HotelRepository", "findById");
+        assertEquals(2, findById.count());
+        assertEquals(1, findById.totalAmount());
+        assertEquals(1, summary("RoomRepository", "findByHotelId").count());
+        assertEquals(0, summary("RoomRepository", "findByHotelId").totalAmount());
+    }
+
+    @Test
+    void repeatedFinderCalls_ShouldReuseRegisteredSummary() {
+        // Given
+        hotelRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10));
+        DistributionSummary first = summary("HotelRepository", "findByIdGreaterThanOrderByIdAsc");
+        long count = first.count();
+
+        // When
+        hotelRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(10));
+
+        // Then
+        // Метр не пересоздаётся: запись идёт в тот же экземпляр, что лежит в реестре
+        assertSame(first, summary("HotelRepository", "findByIdGreaterThanOrderByIdAsc"));
+        assertEquals(count + 1, first.count());
+        assertEquals(1, meterRegistry.find(RepositoryResultSizeAspect.METRIC_NAME)
+                .tag("repository", "HotelRepository")
+                .tag("method", "findByIdGreaterThanOrderByIdAsc")
+                .summaries().size());
+    }
+
+    private DistributionSummary summary(String repository, String method) {
+        DistributionSummary summary = meterRegistry.find(RepositoryResultSizeAspect.METRIC_NAME)
+                .tag("repository", repository)
+                .tag("method", method)
+                .summary();
+        assertNotNull(summary, "No result size recorded for " + repository + "." + method);
+        return summary;
+    }
+
+    @TestConfiguration
+    @EnableAspectJAutoProxy
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.github.lukashindy.booking.repository;
+
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.model.RoomType;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Поиск справочных данных (отели, типы комнат) идёт через кэш второго уровня и кэш запросов.
+ * Тело ответа и ETag должны браться из одного состояния: кэш обновляет сам Hibernate при любой записи,
+ * в том числе при dirty checking без вызова save.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogCacheTest.class);
+
+    @Autowired
+    private HotelOwnerRepository hotelOwnerRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Hotel hotel;
+    private RoomType roomType;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for CatalogCacheTest");
+
+        HotelOwner owner = new HotelOwner();
+        owner.setName("John Smith");
+        owner = hotelOwnerRepository.save(owner);
+
+        hotel = new Hotel();
+        hotel.setName("Grand Paradise Hotel");
+        hotel.setOwner(owner);
+        hotel = hotelRepository.save(hotel);
+
+        roomType = new RoomType();
+        roomType.setName("Standard");
+        roomType.setCapacity(2);
+        roomType.setHotel(hotel);
+        roomType = roomTypeRepository.save(roomType);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from room_type");
+        jdbcTemplate.update("delete from hotel");
+        jdbcTemplate.update("delete from hotel_owner");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findById_ShouldResolveLazyHotelFromCacheWithoutSql() {
+        // Given
+        roomTypeRepository.findById(roomType.getId());
+        hotelRepository.findById(hotel.getId());
+        statistics.clear();
+
+        // When
+        String hotelName = new TransactionTemplate(transactionManager).execute(status ->
+                roomTypeRepository.findById(roomType.getId()).orElseThrow().getHotel().getName());
+
+        // Then
+        // Найденная сущность управляемая: ленивая связь догружается в той же транзакции, тоже из кэша
+        assertEquals("Grand Paradise Hotel", hotelName);
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void dirtyCheckedUpdate_ShouldReachBothBodyAndVersion() {
+        // Given
+        hotelRepository.findById(hotel.getId());
+        String eTagBefore = hotelETag();
+
+        // When
+        // Изменение управляемой сущности без save: кэш поверх репозитория об этом бы не узнал
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                hotelRepository.findById(hotel.getId()).orElseThrow().setName("Renamed Hotel"));
+        statistics.clear();
+
+        // Then
+        Hotel reloaded = hotelRepository.findById(hotel.getId()).orElseThrow();
+        assertEquals("Renamed Hotel", reloaded.getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertNotEquals(eTagBefore, hotelETag());
+        assertEquals(reloaded.getVersion().longValue(),
+                hotelRepository.findCatalogVersionsByIdGreaterThan(0L, Limit.of(1)).get(0).versionSum());
+    }
+
+    @Test
+    void findByHotelId_ShouldAgreeWithCatalogVersionAfterInsert() {
+        // Given
+        roomTypeRepository.findByHotelId(hotel.getId());
+        CatalogVersion before = roomTypeRepository.findCatalogVersionByHotelId(hotel.getId());
+
+        // When
+        RoomType deluxe = new RoomType();
+        deluxe.setName("Deluxe");
+        deluxe.setCapacity(3);
+        deluxe.setHotel(hotel);
+        roomTypeRepository.save(deluxe);
+
+        // Then
+        List<RoomType> byHotel = roomTypeRepository.findByHotelId(hotel.getId());
+        CatalogVersion after = roomTypeRepository.findCatalogVersionByHotelId(hotel.getId());
+        assertEquals(2, byHotel.size());
+        assertEquals(2, after.count());
+        assertNotEquals(before.eTag(), after.eTag());
+    }
+
+    private String hotelETag() {
+        return CatalogVersion.combine(hotelRepository.findCatalogVersionsByIdGreaterThan(0L, Limit.of(1))).eTag();
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.lukashindy.booking.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Прогоняет SQL, который Hibernate генерирует для finder-методов репозиториев,
+ * через EXPLAIN в H2 и падает, если план содержит полный проход по таблице.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.github.lukashindy.booking.repository.QueryPlanTest$CapturingStatementInspector")
+class QueryPlanTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryPlanTest.class);
+
+    private static final LocalDate FROM = LocalDate.of(2025, 8, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 8, 5);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private RoomTypeDayOccupancyRepository occupancyRepository;
+
+    @Autowired
+    private RoomCalendarRepository roomCalendarRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        // Кэш второго уровня общий для JVM: находка в нём означала бы отсутствие SELECT
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    void roomFinders_ShouldUseIndexes() {
+        assertIndexedPlan("RoomRepository.findByHotelId", () -> roomRepository.findByHotelId(1L));
+        assertIndexedPlan("RoomRepository.findByRoomTypeId", () -> roomRepository.findByRoomTypeId(1L));
+        assertIndexedPlan("RoomRepository.findWithDetailsByHotelId", () -> roomRepository.findWithDetailsByHotelId(1L));
+        assertIndexedPlan("RoomRepository.findWithDetailsByRoomTypeId", () -> roomRepository.findWithDetailsByRoomTypeId(1L));
+        assertIndexedPlan("RoomRepository.findWithDetailsById", () -> roomRepository.findWithDetailsById(1L));
+        assertIndexedPlan("RoomRepository.findWithDetailsByIdIn",
+                () -> roomRepository.findWithDetailsByIdIn(List.of(1L, 2L, 3L)));
+        assertIndexedPlan("RoomRepository.findWithDetailsByHotelIdIn",
+                () -> roomRepository.findWithDetailsByHotelIdIn(List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void availabilityFinders_ShouldUseIndexes() {
+        assertIndexedPlan("RoomRepository.findAvailableByHotelId",
+                () -> roomRepository.findAvailableByHotelId(1L, FROM, TO));
+        assertIndexedPlan("RoomRepository.findAvailableByRoomTypeId",
+                () -> roomRepository.findAvailableByRoomTypeId(1L, FROM, TO));
+        assertIndexedPlan("BookingRepository.findActiveStaysOverlapping",
+                () -> bookingRepository.findActiveStaysOverlapping(List.of(1L, 2L), FROM, TO));
+        assertIndexedPlan("RoomRepository.findExistingIds", () -> roomRepository.findExistingIds(List.of(1L, 2L)));
+        assertIndexedPlan("RoomRepository.findIdsByHotelId", () -> roomRepository.findIdsByHotelId(1L));
+        assertIndexedPlan("RoomRepository.findIdsByRoomTypeId", () -> roomRepository.findIdsByRoomTypeId(1L));
+        assertIndexedPlan("BookingRepository.findCheckInCountsByRoomTypeIds",
+                () -> bookingRepository.findCheckInCountsByRoomTypeIds(List.of(1L, 2L)));
+        assertIndexedPlan("BookingRepository.findCheckOutCountsByRoomTypeIds",
+                () -> bookingRepository.findCheckOutCountsByRoomTypeIds(List.of(1L, 2L)));
+        assertIndexedPlan("RoomTypeDayOccupancyRepository.findByHotelIdAndStayDateRange",
+                () -> occupancyRepository.findByHotelIdAndStayDateRange(1L, FROM, TO));
+        assertIndexedPlan("RoomTypeDayOccupancyRepository.findNonZeroByRoomTypeIds",
+                () -> occupancyRepository.findNonZeroByRoomTypeIds(List.of(1L, 2L)));
+        assertIndexedPlan("RoomCalendarRepository.findWithVersionIncrementByRoomIdIn",
+                () -> roomCalendarRepository.findWithVersionIncrementByRoomIdIn(List.of(1L, 2L)));
+    }
+
+    @Test
+    void roomTypeAndHotelFinders_ShouldUseIndexes() {
+        assertIndexedPlan("RoomTypeRepository.findByHotelId", () -> roomTypeRepository.findByHotelId(1L));
+        assertIndexedPlan("RoomTypeRepository.findByHotelIdIn",
+                () -> roomTypeRepository.findByHotelIdIn(List.of(1L, 2L, 3L)));
+        assertIndexedPlan("HotelRepository.findById", () -> hotelRepository.findById(1L));
+        assertIndexedPlan("HotelRepository.findByIdGreaterThanOrderByIdAsc",
+                () -> hotelRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(50)));
+        assertIndexedPlan("RoomTypeRepository.findByIdGreaterThanOrderByIdAsc",
+                () -> roomTypeRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(50)));
+    }
+
+    @Test
+    void catalogVersionLookups_ShouldUseIndexes() {
+        assertIndexedPlan("RoomRepository.findCatalogVersionByHotelId",
+                () -> roomRepository.findCatalogVersionByHotelId(1L));
+        assertIndexedPlan("RoomTypeRepository.findCatalogVersionByHotelId",
+                () -> roomTypeRepository.findCatalogVersionByHotelId(1L));
+        assertIndexedPlan("HotelRepository.findCatalogVersionsByIdGreaterThan",
+                () -> hotelRepository.findCatalogVersionsByIdGreaterThan(1L, Limit.of(50)));
+    }
+
+    private void assertIndexedPlan(String finder, Runnable invocation) {
+        CapturingStatementInspector.clear();
+        invocation.run();
+
+        List<String> statements = CapturingStatementInspector.selects();
+        assertFalse(statements.isEmpty(), finder + " did not issue any SELECT");
+
+        for (String sql : statements) {
+            String plan = explain(sql);
+            logger.info("Plan for {}:\n{}", finder, plan);
+            assertFalse(plan.contains("tableScan"), finder + " falls back to a table scan:\n" + plan);
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query(con -> con.prepareStatement("EXPLAIN " + sql), rs -> {
+            rs.next();
+            return rs.getString(1);
+        });
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+
+        static void clear() {
+            statements.clear();
+        }
+
+        static List<String> selects() {
+            List<String> selects = new ArrayList<>();
+            for (String sql : statements) {
+                if (sql.trim().toLowerCase().startsWith("select")) {
+                    selects.add(sql);
+                }
+            }
+            return selects;
+        }
+    }
+}
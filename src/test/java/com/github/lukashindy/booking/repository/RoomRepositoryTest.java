@@ -0,0 +1,154 @@
+package com.github.lukashindy.booking.repository;
+
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class RoomRepositoryTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomRepositoryTest.class);
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Hotel hotel;
+    private RoomType standard;
+    private Room bookedRoom;
+    private Room cancelledRoom;
+    private Room freeRoom;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for RoomRepositoryTest");
+
+        HotelOwner owner = new HotelOwner();
+        owner.setName("John Smith");
+        entityManager.persist(owner);
+
+        hotel = new Hotel();
+        hotel.setName("Grand Paradise Hotel");
+        hotel.setOwner(owner);
+        entityManager.persist(hotel);
+
+        standard = new RoomType();
+        standard.setName("Standard");
+        standard.setCapacity(2);
+        standard.setHotel(hotel);
+        entityManager.persist(standard);
+
+        bookedRoom = createRoom("ST-001");
+        cancelledRoom = createRoom("ST-002");
+        freeRoom = createRoom("ST-003");
+
+        // Бронь на ночи 10-12 августа (выезд 13-го)
+        createBooking(bookedRoom, LocalDate.of(2025, 8, 10), LocalDate.of(2025, 8, 13), Booking.Status.CONFIRMED);
+        // Отменённая бронь не должна блокировать комнату
+        createBooking(cancelledRoom, LocalDate.of(2025, 8, 10), LocalDate.of(2025, 8, 13), Booking.Status.CANCELLED);
+
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findAvailableByHotelId_ShouldExcludeOverlappingActiveBookings() {
+        List<Room> rooms = roomRepository.findAvailableByHotelId(
+                hotel.getId(), LocalDate.of(2025, 8, 12), LocalDate.of(2025, 8, 15));
+
+        assertEquals(List.of(cancelledRoom.getId(), freeRoom.getId()), ids(rooms));
+        assertEquals("Standard", rooms.get(0).getRoomType().getName());
+    }
+
+    @Test
+    void findAvailableByHotelId_ShouldTreatCheckOutDayAsFree() {
+        // Заезд в день выезда предыдущего гостя не является пересечением
+        List<Room> afterCheckOut = roomRepository.findAvailableByHotelId(
+                hotel.getId(), LocalDate.of(2025, 8, 13), LocalDate.of(2025, 8, 14));
+        List<Room> beforeCheckIn = roomRepository.findAvailableByHotelId(
+                hotel.getId(), LocalDate.of(2025, 8, 8), LocalDate.of(2025, 8, 10));
+
+        assertEquals(3, afterCheckOut.size());
+        assertEquals(3, beforeCheckIn.size());
+    }
+
+    @Test
+    void findAvailableByRoomTypeId_ShouldExcludeOverlappingActiveBookings() {
+        List<Room> rooms = roomRepository.findAvailableByRoomTypeId(
+                standard.getId(), LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31));
+
+        assertEquals(List.of(cancelledRoom.getId(), freeRoom.getId()), ids(rooms));
+    }
+
+    @Test
+    void saveAll_ShouldBatchInserts() {
+        // Given
+        List<Room> rooms = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Room room = new Room();
+            room.setRoomNumber(String.format("BT-%03d", i));
+            room.setRoomType(standard);
+            room.setHotel(hotel);
+            rooms.add(room);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        roomRepository.saveAll(rooms);
+        entityManager.flush();
+
+        // Then
+        // 120 строк: несколько обращений к room_seq и по одному подготовленному INSERT на batch,
+        // а не 120 отдельных INSERT, как при IDENTITY
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "Expected batched inserts, got " + statistics.getPrepareStatementCount() + " statements");
+    }
+
+    private Room createRoom(String roomNumber) {
+        Room room = new Room();
+        room.setRoomNumber(roomNumber);
+        room.setRoomType(standard);
+        room.setHotel(hotel);
+        entityManager.persist(room);
+        return room;
+    }
+
+    private void createBooking(Room room, LocalDate checkIn, LocalDate checkOut, Booking.Status status) {
+        Booking booking = new Booking();
+        booking.setRoom(room);
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        booking.setStatus(status);
+        entityManager.persist(booking);
+    }
+
+    private List<Long> ids(List<Room> rooms) {
+        return rooms.stream().map(Room::getId).toList();
+    }
+}
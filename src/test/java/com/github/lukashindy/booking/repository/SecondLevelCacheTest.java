@@ -0,0 +1,203 @@
+package com.github.lukashindy.booking.repository;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import jakarta.persistence.EntityManagerFactory;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.CompleteConfiguration;
+import javax.cache.spi.CachingProvider;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Проверяет кэш второго уровня и кэш запросов на закоммиченных данных:
+ * каждый вызов репозитория идёт в своей транзакции, как из контроллера.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecondLevelCacheTest.class);
+
+    @Autowired
+    private HotelOwnerRepository hotelOwnerRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private Hotel hotel;
+    private RoomType roomType;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for SecondLevelCacheTest");
+
+        HotelOwner owner = new HotelOwner();
+        owner.setName("John Smith");
+        owner = hotelOwnerRepository.save(owner);
+
+        hotel = new Hotel();
+        hotel.setName("Grand Paradise Hotel");
+        hotel.setOwner(owner);
+        hotel = hotelRepository.save(hotel);
+
+        roomType = new RoomType();
+        roomType.setName("Standard");
+        roomType.setCapacity(2);
+        roomType.setHotel(hotel);
+        roomType = roomTypeRepository.save(roomType);
+
+        saveRoom("ST-001");
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from room");
+        jdbcTemplate.update("delete from room_type");
+        jdbcTemplate.update("delete from hotel");
+        jdbcTemplate.update("delete from hotel_owner");
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void findById_ShouldNotIssueSqlOnRepeatedRead() {
+        // Given
+        hotelRepository.findById(hotel.getId());
+        roomTypeRepository.findById(roomType.getId());
+        long warmUpStatements = statistics.getPrepareStatementCount();
+        statistics.clear();
+
+        // When
+        Hotel cachedHotel = hotelRepository.findById(hotel.getId()).orElseThrow();
+        RoomType cachedRoomType = roomTypeRepository.findById(roomType.getId()).orElseThrow();
+
+        // Then
+        assertEquals(2, warmUpStatements);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals("Grand Paradise Hotel", cachedHotel.getName());
+        assertEquals("Standard", cachedRoomType.getName());
+        assertEquals(2, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void findByHotelId_ShouldServeRepeatedQueriesFromQueryCache() {
+        // Given
+        roomRepository.findByHotelId(hotel.getId());
+        roomTypeRepository.findByHotelId(hotel.getId());
+        statistics.clear();
+
+        // When
+        List<Room> rooms = roomRepository.findByHotelId(hotel.getId());
+        List<RoomType> roomTypes = roomTypeRepository.findByHotelId(hotel.getId());
+
+        // Then
+        assertEquals(1, rooms.size());
+        assertEquals(1, roomTypes.size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void writes_ShouldInvalidateCachedEntitiesAndQueries() {
+        // Given
+        roomRepository.findByHotelId(hotel.getId());
+        Hotel cached = hotelRepository.findById(hotel.getId()).orElseThrow();
+
+        // When
+        cached.setName("Renamed Hotel");
+        hotelRepository.save(cached);
+        saveRoom("ST-002");
+        statistics.clear();
+
+        // Then
+        // Обновлённая сущность берётся из кэша уже в новом состоянии
+        assertEquals("Renamed Hotel", hotelRepository.findById(hotel.getId()).orElseThrow().getName());
+        // Запись в room сделала кэшированный результат устаревшим: запрос снова идёт в БД
+        assertEquals(2, roomRepository.findByHotelId(hotel.getId()).size());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void catalogVersion_ShouldComeFromQueryCacheAndChangeOnWrite() {
+        // Given
+        CatalogVersion before = roomRepository.findCatalogVersionByHotelId(hotel.getId());
+        statistics.clear();
+
+        // When
+        CatalogVersion cached = roomRepository.findCatalogVersionByHotelId(hotel.getId());
+        long cachedStatements = statistics.getPrepareStatementCount();
+        Hotel renamed = hotelRepository.findById(hotel.getId()).orElseThrow();
+        renamed.setName("Renamed Hotel");
+        hotelRepository.save(renamed);
+
+        // Then
+        // Повторная проверка ETag не ходит в БД, а переименование отеля меняет версию списка комнат
+        assertEquals(0, cachedStatements);
+        assertEquals(before.eTag(), cached.eTag());
+        CatalogVersion after = roomRepository.findCatalogVersionByHotelId(hotel.getId());
+        assertEquals(1, after.count());
+        assertNotEquals(before.eTag(), after.eTag());
+        assertFalse(after.updatedAt().isBefore(before.updatedAt()));
+    }
+
+    @Test
+    void regions_ShouldStoreEntriesByReference() throws Exception {
+        // Регион с конфигурацией JCache по умолчанию сериализовал бы каждую запись при put/get
+        URI uri = getClass().getClassLoader().getResource("hibernate-jcache.conf").toURI();
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(uri, provider.getDefaultClassLoader());
+
+        for (Class<?> entity : List.of(HotelOwner.class, Hotel.class, RoomType.class, Room.class)) {
+            Cache<Object, Object> region = cacheManager.getCache(entity.getName());
+            assertNotNull(region, "Missing cache region for " + entity.getSimpleName());
+            assertFalse(region.getConfiguration(CompleteConfiguration.class).isStoreByValue(),
+                    entity.getSimpleName() + " region stores entries by value");
+        }
+    }
+
+    private void saveRoom(String roomNumber) {
+        Room room = new Room();
+        room.setRoomNumber(roomNumber);
+        room.setRoomType(roomType);
+        room.setHotel(hotel);
+        roomRepository.save(room);
+    }
+}
@@ -0,0 +1,199 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.dto.BookingBatchResultDto;
+import com.github.lukashindy.booking.dto.BookingDto;
+import com.github.lukashindy.booking.mapper.BookingMapperImpl;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static com.github.lukashindy.booking.dto.BookingBatchResultDto.Outcome.ACCEPTED;
+import static com.github.lukashindy.booking.dto.BookingBatchResultDto.Outcome.REJECTED;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Приём пачки через настоящие маппер, репозитории и H2: брони действительно вставляются,
+ * а пересечения проверяются по сохранённым строкам.
+ */
+@DataJpaTest
+@Import({BookingBatchService.class, BookingMapperImpl.class, OccupancyLedger.class,
+        RoomCalendarIndex.class, RoomBookingGuard.class})
+class BookingBatchIngestTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingBatchIngestTest.class);
+
+    @Autowired
+    private BookingBatchService bookingBatchService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Room first;
+    private Room second;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up rooms and a stored booking for BookingBatchIngestTest");
+        // Кэш второго уровня общий для JVM: комната с тем же id из другого контекста подменила бы тип в OccupancyLedger
+        entityManagerFactory.getCache().evictAll();
+
+        HotelOwner owner = new HotelOwner();
+        owner.setName("John Smith");
+        entityManager.persist(owner);
+
+        Hotel hotel = new Hotel();
+        hotel.setName("Grand Paradise Hotel");
+        hotel.setOwner(owner);
+        entityManager.persist(hotel);
+
+        RoomType roomType = new RoomType();
+        roomType.setName("Standard");
+        roomType.setCapacity(2);
+        roomType.setHotel(hotel);
+        entityManager.persist(roomType);
+
+        first = room("ST-001", roomType, hotel);
+        second = room("ST-002", roomType, hotel);
+
+        Booking stored = new Booking();
+        stored.setRoom(first);
+        stored.setCheckInDate(LocalDate.of(2025, 8, 1));
+        stored.setCheckOutDate(LocalDate.of(2025, 8, 5));
+        stored.setStatus(Booking.Status.CONFIRMED);
+        entityManager.persist(stored);
+
+        // Пачка должна видеть только то, что лежит в БД
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void ingest_ShouldPersistAcceptedAndRejectConflictingItems() {
+        logger.info("Testing ingest against the database");
+
+        // Given
+        BookingDto cancelled = request(first.getId(), "2025-08-02", "2025-08-04");
+        cancelled.setStatus("CANCELLED");
+        List<BookingDto> requests = List.of(
+                request(first.getId(), "2025-08-03", "2025-08-06"),
+                request(first.getId(), "2025-08-05", "2025-08-08"),
+                request(second.getId(), "2025-08-01", "2025-08-10"),
+                request(second.getId(), "2025-08-09", "2025-08-12"),
+                request(Long.MAX_VALUE, "2025-08-01", "2025-08-05"),
+                request(second.getId(), "2025-08-12", "2025-08-11"),
+                cancelled);
+
+        // When
+        List<BookingBatchResultDto> results = bookingBatchService.ingest(requests);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(List.of(REJECTED, ACCEPTED, ACCEPTED, REJECTED, REJECTED, REJECTED, ACCEPTED),
+                results.stream().map(BookingBatchResultDto::getOutcome).toList());
+        assertEquals("Room is already booked for the requested dates", results.get(0).getReason());
+        assertEquals("Room is already booked for the requested dates", results.get(3).getReason());
+        assertEquals("Room not found with id: '" + Long.MAX_VALUE + "'", results.get(4).getReason());
+
+        assertEquals(4, bookingRepository.count());
+        for (int i : List.of(1, 2, 6)) {
+            Booking booking = bookingRepository.findById(results.get(i).getBookingId()).orElseThrow();
+            assertEquals(requests.get(i).getRoomId(), booking.getRoom().getId());
+            assertEquals(requests.get(i).getCheckInDate(), booking.getCheckInDate());
+        }
+        // Статус по умолчанию и переданный клиентом id не попадают в БД как есть
+        Booking accepted = bookingRepository.findById(results.get(1).getBookingId()).orElseThrow();
+        assertEquals(Booking.Status.CREATED, accepted.getStatus());
+        assertNotEquals(42L, accepted.getId());
+
+        logger.info("ingest against the database test completed successfully");
+    }
+
+    @Test
+    void ingest_ShouldSeeBookingsOfPreviousBatch() {
+        logger.info("Testing two consecutive batches against the database");
+
+        // Given
+        bookingBatchService.ingest(List.of(request(second.getId(), "2025-09-01", "2025-09-05")));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<BookingBatchResultDto> results = bookingBatchService.ingest(List.of(
+                request(second.getId(), "2025-09-04", "2025-09-06"),
+                request(second.getId(), "2025-09-05", "2025-09-06")));
+
+        // Then
+        assertEquals(REJECTED, results.get(0).getOutcome());
+        assertEquals(ACCEPTED, results.get(1).getOutcome());
+
+        logger.info("consecutive batches test completed successfully");
+    }
+
+    @Test
+    void ingest_ShouldReferenceVersionedRoomWithoutChangingIt() {
+        logger.info("Testing ingest into a room that was updated before");
+
+        // Given
+        Room room = entityManager.find(Room.class, first.getId());
+        room.setRoomNumber("ST-101");
+        entityManager.flush();
+        entityManager.clear();
+        Long version = entityManager.find(Room.class, first.getId()).getVersion();
+        entityManager.clear();
+
+        // When
+        List<BookingBatchResultDto> results = bookingBatchService.ingest(
+                List.of(request(first.getId(), "2025-08-10", "2025-08-12")));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertEquals(ACCEPTED, results.get(0).getOutcome());
+        assertEquals(first.getId(), bookingRepository.findById(results.get(0).getBookingId()).orElseThrow().getRoom().getId());
+        // Бронь ссылается на комнату, но не меняет её версию: ETag каталога остаётся прежним
+        assertEquals(version, entityManager.find(Room.class, first.getId()).getVersion());
+
+        logger.info("ingest into versioned room test completed successfully");
+    }
+
+    private Room room(String roomNumber, RoomType roomType, Hotel hotel) {
+        Room room = new Room();
+        room.setRoomNumber(roomNumber);
+        room.setRoomType(roomType);
+        room.setHotel(hotel);
+        entityManager.persist(room);
+        return room;
+    }
+
+    private BookingDto request(Long roomId, String checkIn, String checkOut) {
+        BookingDto dto = new BookingDto();
+        dto.setId(42L);
+        dto.setRoomId(roomId);
+        dto.setCheckInDate(LocalDate.parse(checkIn));
+        dto.setCheckOutDate(LocalDate.parse(checkOut));
+        dto.setGuestFullNames("John Doe");
+        return dto;
+    }
+}
@@ -0,0 +1,219 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.dto.BookingBatchResultDto;
+import com.github.lukashindy.booking.dto.BookingDto;
+import com.github.lukashindy.booking.mapper.BookingMapper;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomStay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.lukashindy.booking.dto.BookingBatchResultDto.Outcome.ACCEPTED;
+import static com.github.lukashindy.booking.dto.BookingBatchResultDto.Outcome.REJECTED;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingBatchServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingBatchServiceTest.class);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private OccupancyLedger occupancyLedger;
+
+    @Mock
+    private RoomCalendarIndex roomCalendarIndex;
+
+    @Mock
+    private RoomBookingGuard roomBookingGuard;
+
+    @InjectMocks
+    private BookingBatchService bookingBatchService;
+
+    private final AtomicLong sequence = new AtomicLong(100);
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for BookingBatchServiceTest");
+        ReflectionTestUtils.setField(bookingBatchService, "bookingMapper", Mappers.getMapper(BookingMapper.class));
+    }
+
+    @Test
+    void ingest_ShouldAcceptNonOverlappingBookingsAndSaveThemInOneCall() {
+        logger.info("Testing ingest with non-overlapping bookings");
+
+        // Given
+        List<BookingDto> requests = List.of(
+                request(1L, "2025-08-01", "2025-08-05"),
+                request(1L, "2025-08-05", "2025-08-07"),
+                request(2L, "2025-08-01", "2025-08-10"));
+        when(roomRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+        when(bookingRepository.findActiveStaysOverlapping(anyCollection(), any(), any())).thenReturn(List.of());
+        stubSaveAll();
+
+        // When
+        List<BookingBatchResultDto> results = bookingBatchService.ingest(requests);
+
+        // Then
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(r -> r.getOutcome() == ACCEPTED));
+        assertEquals(List.of(100L, 101L, 102L), results.stream().map(BookingBatchResultDto::getBookingId).toList());
+        // Окно проверки пересечений покрывает всю пачку
+        verify(bookingRepository).findActiveStaysOverlapping(anyCollection(),
+                eq(LocalDate.parse("2025-08-01")), eq(LocalDate.parse("2025-08-10")));
+        verify(bookingRepository, times(1)).saveAll(anyIterable());
+        // Комнаты закрываются от параллельных пачек до чтения пересечений
+        InOrder inOrder = inOrder(roomBookingGuard, bookingRepository);
+        inOrder.verify(roomBookingGuard).acquire(Set.of(1L, 2L));
+        inOrder.verify(bookingRepository).findActiveStaysOverlapping(anyCollection(), any(), any());
+
+        logger.info("ingest non-overlapping test completed successfully");
+    }
+
+    @Test
+    void ingest_ShouldRejectBookingOverlappingExistingOne() {
+        logger.info("Testing ingest with overlap against stored bookings");
+
+        // Given
+        List<BookingDto> requests = List.of(
+                request(1L, "2025-08-03", "2025-08-06"),
+                request(1L, "2025-08-10", "2025-08-12"));
+        when(roomRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L));
+        when(bookingRepository.findActiveStaysOverlapping(anyCollection(), any(), any()))
+                .thenReturn(List.of(existing(1L, "2025-08-01", "2025-08-04")));
+        ArgumentCaptor<List<Booking>> captor = stubSaveAll();
+
+        // When
+        List<BookingBatchResultDto> results = bookingBatchService.ingest(requests);
+
+        // Then
+        assertEquals(REJECTED, results.get(0).getOutcome());
+        assertEquals(ACCEPTED, results.get(1).getOutcome());
+        assertEquals(1, results.get(1).getIndex());
+        assertEquals(1, captor.getValue().size());
+
+        logger.info("ingest overlap with stored bookings test completed successfully");
+    }
+
+    @Test
+    void ingest_ShouldRejectBookingOverlappingEarlierItemOfSameBatch() {
+        logger.info("Testing ingest with overlap inside the batch");
+
+        // Given
+        BookingDto cancelled = request(1L, "2025-08-02", "2025-08-04");
+        cancelled.setStatus("CANCELLED");
+        List<BookingDto> requests = List.of(
+                request(1L, "2025-08-01", "2025-08-05"),
+                request(1L, "2025-08-04", "2025-08-06"),
+                cancelled);
+        when(roomRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L));
+        when(bookingRepository.findActiveStaysOverlapping(anyCollection(), any(), any())).thenReturn(List.of());
+        ArgumentCaptor<List<Booking>> captor = stubSaveAll();
+
+        // When
+        List<BookingBatchResultDto> results = bookingBatchService.ingest(requests);
+
+        // Then
+        assertEquals(ACCEPTED, results.get(0).getOutcome());
+        assertEquals(REJECTED, results.get(1).getOutcome());
+        // Отменённая бронь комнату не занимает
+        assertEquals(ACCEPTED, results.get(2).getOutcome());
+        assertEquals(Booking.Status.CREATED, captor.getValue().get(0).getStatus());
+        assertEquals(Booking.Status.CANCELLED, captor.getValue().get(1).getStatus());
+
+        logger.info("ingest overlap inside batch test completed successfully");
+    }
+
+    @Test
+    void ingest_ShouldRejectInvalidItemsWithoutQueryingDatabase() {
+        logger.info("Testing ingest with invalid items only");
+
+        // Given
+        BookingDto noRoom = request(null, "2025-08-01", "2025-08-05");
+        BookingDto reversed = request(1L, "2025-08-05", "2025-08-01");
+        BookingDto badStatus = request(1L, "2025-08-01", "2025-08-05");
+        badStatus.setStatus("UNKNOWN");
+        when(bookingRepository.saveAll(anyIterable())).thenReturn(List.of());
+
+        // When
+        List<BookingBatchResultDto> results = bookingBatchService.ingest(List.of(noRoom, reversed, badStatus));
+
+        // Then
+        assertTrue(results.stream().allMatch(r -> r.getOutcome() == REJECTED));
+        assertEquals("'checkInDate' must be before 'checkOutDate'", results.get(1).getReason());
+        verifyNoInteractions(roomRepository);
+        verify(bookingRepository, never()).findActiveStaysOverlapping(anyCollection(), any(), any());
+
+        logger.info("ingest invalid items test completed successfully");
+    }
+
+    @Test
+    void ingest_ShouldRejectBookingForUnknownRoom() {
+        logger.info("Testing ingest with unknown room");
+
+        // Given
+        when(roomRepository.findExistingIds(anyCollection())).thenReturn(List.of());
+        when(bookingRepository.findActiveStaysOverlapping(anyCollection(), any(), any())).thenReturn(List.of());
+        when(bookingRepository.saveAll(anyIterable())).thenReturn(List.of());
+
+        // When
+        List<BookingBatchResultDto> results = bookingBatchService.ingest(List.of(request(999L, "2025-08-01", "2025-08-05")));
+
+        // Then
+        assertEquals(REJECTED, results.get(0).getOutcome());
+        assertEquals("Room not found with id: '999'", results.get(0).getReason());
+        verify(roomBookingGuard, never()).acquire(anyCollection());
+
+        logger.info("ingest unknown room test completed successfully");
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<List<Booking>> stubSaveAll() {
+        ArgumentCaptor<List<Booking>> captor = ArgumentCaptor.forClass(List.class);
+        when(bookingRepository.saveAll(captor.capture())).thenAnswer(invocation -> {
+            List<Booking> saved = new ArrayList<>(invocation.<List<Booking>>getArgument(0));
+            saved.forEach(booking -> booking.setId(sequence.getAndIncrement()));
+            return saved;
+        });
+        return captor;
+    }
+
+    private BookingDto request(Long roomId, String checkIn, String checkOut) {
+        BookingDto dto = new BookingDto();
+        dto.setId(42L);
+        dto.setRoomId(roomId);
+        dto.setCheckInDate(LocalDate.parse(checkIn));
+        dto.setCheckOutDate(LocalDate.parse(checkOut));
+        dto.setGuestFullNames("John Doe");
+        return dto;
+    }
+
+    private RoomStay existing(Long roomId, String checkIn, String checkOut) {
+        return new RoomStay(roomId, LocalDate.parse(checkIn), LocalDate.parse(checkOut));
+    }
+}
@@ -0,0 +1,212 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.dto.BookingBatchResultDto;
+import com.github.lukashindy.booking.dto.BookingDto;
+import com.github.lukashindy.booking.mapper.BookingMapperImpl;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.HotelOwnerRepository;
+import com.github.lukashindy.booking.repository.HotelRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Параллельная запись броней в одни и те же комнаты на закоммиченных данных:
+ * каждая пачка идёт в своей транзакции, как из контроллера. Пропускная способность здесь
+ * только логируется: холодная JVM меряет JIT, установившийся режим даёт BookingIngestBenchmark.
+ */
+@DataJpaTest
+@Import({BookingBatchService.class, BookingMapperImpl.class, OccupancyLedger.class,
+        RoomCalendarIndex.class, RoomBookingGuard.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingConcurrencyTest.class);
+
+    private static final int THREADS = 64;
+    private static final int ROOMS = 10;
+    private static final int REQUESTS_PER_THREAD = 50;
+    private static final LocalDate FROM = LocalDate.of(2025, 8, 1);
+
+    @Autowired
+    private BookingBatchService bookingBatchService;
+
+    @Autowired
+    private RoomBookingGuard roomBookingGuard;
+
+    @Autowired
+    private OccupancyLedger occupancyLedger;
+
+    @Autowired
+    private HotelOwnerRepository hotelOwnerRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> roomIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up {} rooms for BookingConcurrencyTest", ROOMS);
+        // Кэш второго уровня общий для JVM, а база у каждого тестового контекста своя: комната с тем же id
+        // из другого контекста подменила бы тип комнаты в OccupancyLedger
+        entityManagerFactory.getCache().evictAll();
+
+        HotelOwner owner = new HotelOwner();
+        owner.setName("John Smith");
+        owner = hotelOwnerRepository.save(owner);
+
+        Hotel hotel = new Hotel();
+        hotel.setName("Grand Paradise Hotel");
+        hotel.setOwner(owner);
+        hotel = hotelRepository.save(hotel);
+
+        RoomType roomType = new RoomType();
+        roomType.setName("Standard");
+        roomType.setCapacity(2);
+        roomType.setHotel(hotel);
+        roomType = roomTypeRepository.save(roomType);
+
+        for (int i = 0; i < ROOMS; i++) {
+            Room room = new Room();
+            room.setRoomNumber(String.format("ST-%03d", i));
+            room.setRoomType(roomType);
+            room.setHotel(hotel);
+            roomIds.add(roomRepository.save(room).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from room_calendar");
+        jdbcTemplate.update("delete from room_type_day_occupancy");
+        jdbcTemplate.update("delete from booking");
+        jdbcTemplate.update("delete from room");
+        jdbcTemplate.update("delete from room_type");
+        jdbcTemplate.update("delete from hotel");
+        jdbcTemplate.update("delete from hotel_owner");
+    }
+
+    @Test
+    void ingest_FromManyThreads_ShouldNeverStoreOverlappingBookings() throws Exception {
+        // Given
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> accepted = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            accepted.add(executor.submit(() -> {
+                start.await();
+                int count = 0;
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    LocalDate checkIn = FROM.plusDays(random.nextInt(120));
+                    BookingDto request = new BookingDto();
+                    request.setRoomId(roomIds.get(random.nextInt(ROOMS)));
+                    request.setCheckInDate(checkIn);
+                    request.setCheckOutDate(checkIn.plusDays(1 + random.nextInt(3)));
+                    List<BookingBatchResultDto> results = bookingBatchService.ingest(List.of(request));
+                    if (results.get(0).getOutcome() == BookingBatchResultDto.Outcome.ACCEPTED) {
+                        count++;
+                    }
+                }
+                return count;
+            }));
+        }
+
+        // When
+        long started = System.nanoTime();
+        start.countDown();
+        int acceptedTotal = 0;
+        for (Future<Integer> result : accepted) {
+            acceptedTotal += result.get(2, TimeUnit.MINUTES);
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        executor.shutdown();
+
+        // Then
+        int requests = THREADS * REQUESTS_PER_THREAD;
+        logger.info("Processed {} booking requests ({} accepted) in {} ms: {} requests/s",
+                requests, acceptedTotal, Math.round(seconds * 1000), Math.round(requests / seconds));
+        Integer overlaps = jdbcTemplate.queryForObject(
+                "select count(*) from booking a join booking b on a.room_id = b.room_id and a.id < b.id " +
+                "and a.check_in_date < b.check_out_date and b.check_in_date < a.check_out_date " +
+                "where a.status <> 'CANCELLED' and b.status <> 'CANCELLED'", Integer.class);
+        assertEquals(0, overlaps);
+        assertEquals(acceptedTotal, jdbcTemplate.queryForObject("select count(*) from booking", Integer.class));
+        assertTrue(acceptedTotal > 0);
+        assertTrue(occupancyLedger.check().isEmpty());
+    }
+
+    @Test
+    void acquire_WhenRoomCalendarChangedByAnotherWriter_ShouldFailOnCommit() {
+        // Given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Long roomId = roomIds.get(0);
+        jdbcTemplate.update("insert into room_calendar (room_id, version) values (?, 0)", roomId);
+
+        // When
+        OptimisticLockingFailureException failure = assertThrows(OptimisticLockingFailureException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> {
+                    roomBookingGuard.acquire(List.of(roomId));
+                    // Другой инстанс закоммитил бронь этой комнаты после чтения версии
+                    new TransactionTemplate(transactionManager, requiresNew())
+                            .executeWithoutResult(other -> jdbcTemplate.update(
+                                    "update room_calendar set version = version + 1 where room_id = ?", roomId));
+                }));
+
+        // Then
+        logger.info("Guard rejected concurrent write: {}", failure.getMessage());
+        assertEquals(1L, jdbcTemplate.queryForObject(
+                "select version from room_calendar where room_id = ?", Long.class, roomId));
+    }
+
+    private static DefaultTransactionDefinition requiresNew() {
+        return new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+}
@@ -0,0 +1,233 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.exception.BadRequestException;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Booking.Status;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import com.github.lukashindy.booking.repository.HotelOwnerRepository;
+import com.github.lukashindy.booking.repository.HotelRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomTypeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Смена статуса из API, пока ночная задача отменяет ту же бронь: транзакция запроса держится открытой
+ * после смены статуса, задача запускается в другом потоке и должна увидеть уже закоммиченный статус.
+ */
+@DataJpaTest
+@Import({BookingStatusService.class, BookingStatusJob.class, OccupancyLedger.class, RoomCalendarIndex.class,
+        SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingStatusConcurrencyTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingStatusConcurrencyTest.class);
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 8, 10);
+
+    @Autowired
+    private BookingStatusService bookingStatusService;
+
+    @Autowired
+    private BookingStatusJob bookingStatusJob;
+
+    @Autowired
+    private OccupancyLedger occupancyLedger;
+
+    @Autowired
+    private HotelOwnerRepository hotelOwnerRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private Booking stale;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up a stale booking for BookingStatusConcurrencyTest");
+        // Кэш второго уровня общий для JVM: комната с тем же id из другого контекста подменила бы тип в OccupancyLedger
+        entityManagerFactory.getCache().evictAll();
+
+        HotelOwner owner = new HotelOwner();
+        owner.setName("John Smith");
+        owner = hotelOwnerRepository.save(owner);
+
+        Hotel hotel = new Hotel();
+        hotel.setName("Grand Paradise Hotel");
+        hotel.setOwner(owner);
+        hotel = hotelRepository.save(hotel);
+
+        RoomType roomType = new RoomType();
+        roomType.setName("Standard");
+        roomType.setCapacity(2);
+        roomType.setHotel(hotel);
+        roomType = roomTypeRepository.save(roomType);
+
+        Room room = new Room();
+        room.setRoomNumber("ST-001");
+        room.setRoomType(roomType);
+        room.setHotel(hotel);
+        room = roomRepository.save(room);
+
+        // Не подтверждена к заезду: задача её отменит, если успеет раньше запроса
+        Booking booking = new Booking();
+        booking.setRoom(room);
+        booking.setCheckInDate(LocalDate.of(2025, 8, 8));
+        booking.setCheckOutDate(LocalDate.of(2025, 8, 12));
+        booking.setStatus(Status.CREATED);
+        stale = bookingRepository.save(booking);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> occupancyLedger.apply(List.of(stale), 1));
+
+        ReflectionTestUtils.setField(bookingStatusJob, "clock",
+                Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        jdbcTemplate.update("delete from room_type_day_occupancy");
+        jdbcTemplate.update("delete from booking");
+        jdbcTemplate.update("delete from room");
+        jdbcTemplate.update("delete from room_type");
+        jdbcTemplate.update("delete from hotel");
+        jdbcTemplate.update("delete from hotel_owner");
+    }
+
+    @Test
+    void cancelByRequest_WhileJobCancels_ShouldReleaseNightsOnce() throws Exception {
+        logger.info("Testing cancellation by request racing the status job");
+
+        // When
+        BookingStatusJob.Result result = runJobWhileChangingStatus(Status.CANCELLED);
+
+        // Then
+        assertEquals(0, result.cancelled());
+        assertEquals(Status.CANCELLED, status());
+        // Ночи сняты один раз: таблица занятости сходится с бронями, отрицательных счётчиков нет
+        assertTrue(occupancyLedger.check().isEmpty());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "select count(*) from room_type_day_occupancy where occupied < 0", Integer.class));
+
+        logger.info("cancellation race test completed successfully");
+    }
+
+    @Test
+    void confirmByRequest_WhileJobCancels_ShouldKeepBookingActive() throws Exception {
+        logger.info("Testing confirmation by request racing the status job");
+
+        // When
+        BookingStatusJob.Result result = runJobWhileChangingStatus(Status.CONFIRMED);
+
+        // Then
+        assertEquals(0, result.cancelled());
+        assertEquals(Status.CONFIRMED, status());
+        // Подтверждённая бронь по-прежнему занимает свои ночи
+        assertTrue(occupancyLedger.check().isEmpty());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "select occupied from room_type_day_occupancy where stay_date = ?", Integer.class, LocalDate.of(2025, 8, 9)));
+
+        logger.info("confirmation race test completed successfully");
+    }
+
+    @Test
+    void changeStatus_AfterJobCancelled_ShouldRejectTransition() {
+        logger.info("Testing confirmation after the status job cancelled the booking");
+
+        // Given
+        bookingStatusJob.run();
+
+        // When & Then
+        assertThrows(BadRequestException.class, () -> bookingStatusService.changeStatus(stale.getId(), Status.CONFIRMED));
+        assertTrue(occupancyLedger.check().isEmpty());
+
+        logger.info("confirmation after job test completed successfully");
+    }
+
+    /**
+     * Запрос меняет статус и не коммитит, пока задача не запущена и не упёрлась в строку брони.
+     */
+    private BookingStatusJob.Result runJobWhileChangingStatus(Status status) throws Exception {
+        CountDownLatch changed = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Future<?> request = executor.submit(() -> transactionTemplate.executeWithoutResult(tx -> {
+            // Статус уйдёт в БД только при коммите: от задачи бронь защищает лишь блокировка, взятая при чтении
+            bookingStatusService.changeStatus(stale.getId(), status);
+            changed.countDown();
+            await(commit);
+        }));
+        assertTrue(changed.await(10, TimeUnit.SECONDS));
+
+        Future<BookingStatusJob.Result> job = executor.submit(() -> bookingStatusJob.run());
+        // Задача успевает дойти до строки брони и ждёт её блокировку
+        Thread.sleep(300);
+        assertFalse(job.isDone());
+        commit.countDown();
+
+        request.get(10, TimeUnit.SECONDS);
+        return job.get(10, TimeUnit.SECONDS);
+    }
+
+    private Status status() {
+        return Status.valueOf(jdbcTemplate.queryForObject(
+                "select status from booking where id = ?", String.class, stale.getId()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
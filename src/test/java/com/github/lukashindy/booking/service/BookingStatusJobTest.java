@@ -0,0 +1,188 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Booking.Status;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import com.github.lukashindy.booking.repository.HotelOwnerRepository;
+import com.github.lukashindy.booking.repository.HotelRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomTypeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Смена статусов на закоммиченных данных: каждая порция задачи идёт в своей транзакции.
+ * Порция из двух броней, чтобы завершение прошло несколькими порциями.
+ */
+@DataJpaTest(properties = "booking.status-job.chunk-size=2")
+@Import({BookingStatusJob.class, OccupancyLedger.class, RoomCalendarIndex.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingStatusJobTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingStatusJobTest.class);
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 8, 10);
+
+    @Autowired
+    private BookingStatusJob bookingStatusJob;
+
+    @Autowired
+    private OccupancyLedger occupancyLedger;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private HotelOwnerRepository hotelOwnerRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private List<Booking> bookings;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for BookingStatusJobTest");
+        // Кэш второго уровня общий для JVM, а база у каждого тестового контекста своя: комната с тем же id
+        // из другого контекста подменила бы тип комнаты в OccupancyLedger
+        entityManagerFactory.getCache().evictAll();
+
+        HotelOwner owner = new HotelOwner();
+        owner.setName("John Smith");
+        owner = hotelOwnerRepository.save(owner);
+
+        Hotel hotel = new Hotel();
+        hotel.setName("Grand Paradise Hotel");
+        hotel.setOwner(owner);
+        hotel = hotelRepository.save(hotel);
+
+        RoomType roomType = new RoomType();
+        roomType.setName("Standard");
+        roomType.setCapacity(2);
+        roomType.setHotel(hotel);
+        roomType = roomTypeRepository.save(roomType);
+
+        Room room = new Room();
+        room.setRoomNumber("ST-001");
+        room.setRoomType(roomType);
+        room.setHotel(hotel);
+        room = roomRepository.save(room);
+
+        bookings = bookingRepository.saveAll(List.of(
+                booking(room, "2025-07-20", "2025-07-22", Status.CONFIRMED),
+                booking(room, "2025-08-01", "2025-08-05", Status.CONFIRMED),
+                booking(room, "2025-08-05", "2025-08-09", Status.CONFIRMED),
+                // Выезд сегодня: ещё не завершена
+                booking(room, "2025-08-09", "2025-08-10", Status.CONFIRMED),
+                // Не подтверждена к заезду — отменяется; заезд сегодня — ещё ждёт подтверждения
+                booking(room, "2025-08-08", "2025-08-09", Status.CREATED),
+                booking(room, "2025-08-10", "2025-08-12", Status.CREATED),
+                booking(room, "2025-07-01", "2025-07-02", Status.CANCELLED)));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> occupancyLedger.apply(
+                bookings.stream().filter(booking -> booking.getStatus() != Status.CANCELLED).toList(), 1));
+
+        ReflectionTestUtils.setField(bookingStatusJob, "clock",
+                Clock.fixed(TODAY.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from room_type_day_occupancy");
+        jdbcTemplate.update("delete from booking");
+        jdbcTemplate.update("delete from room");
+        jdbcTemplate.update("delete from room_type");
+        jdbcTemplate.update("delete from hotel");
+        jdbcTemplate.update("delete from hotel_owner");
+    }
+
+    @Test
+    void run_ShouldCompletePastStaysAndCancelStaleCreatedBookings() {
+        // When
+        BookingStatusJob.Result result = bookingStatusJob.run();
+
+        // Then
+        assertEquals(new BookingStatusJob.Result(3, 1), result);
+        assertEquals(List.of(Status.COMPLETED, Status.COMPLETED, Status.COMPLETED, Status.CONFIRMED,
+                Status.CANCELLED, Status.CREATED, Status.CANCELLED), statuses());
+        // Ночи отменённой брони освобождены в таблице занятости
+        assertTrue(occupancyLedger.check().isEmpty());
+        assertEquals(3.0, meterRegistry.get("booking.status.job.updated").tag("transition", "completed").counter().count());
+        assertEquals(1.0, meterRegistry.get("booking.status.job.updated").tag("transition", "cancelled").counter().count());
+        // 3 брони порциями по 2 — две порции завершения, одна отмены
+        assertEquals(2, meterRegistry.get("booking.status.job.chunk").tag("transition", "completed").timer().count());
+        assertEquals(1, meterRegistry.get("booking.status.job.chunk").tag("transition", "cancelled").timer().count());
+    }
+
+    @Test
+    void run_WhenNothingLeftToMove_ShouldChangeNothing() {
+        // Given
+        bookingStatusJob.run();
+
+        // When
+        BookingStatusJob.Result result = bookingStatusJob.run();
+
+        // Then
+        assertEquals(new BookingStatusJob.Result(0, 0), result);
+        assertTrue(occupancyLedger.check().isEmpty());
+    }
+
+    private List<Status> statuses() {
+        return bookings.stream()
+                .map(booking -> Status.valueOf(jdbcTemplate.queryForObject(
+                        "select status from booking where id = ?", String.class, booking.getId())))
+                .toList();
+    }
+
+    private Booking booking(Room room, String checkIn, String checkOut, Status status) {
+        Booking booking = new Booking();
+        booking.setRoom(room);
+        booking.setCheckInDate(LocalDate.parse(checkIn));
+        booking.setCheckOutDate(LocalDate.parse(checkOut));
+        booking.setStatus(status);
+        return booking;
+    }
+}
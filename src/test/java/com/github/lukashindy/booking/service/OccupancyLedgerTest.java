@@ -0,0 +1,235 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import com.github.lukashindy.booking.repository.HotelOwnerRepository;
+import com.github.lukashindy.booking.repository.HotelRepository;
+import com.github.lukashindy.booking.repository.RoomRepository;
+import com.github.lukashindy.booking.repository.RoomTypeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ведение таблицы room_type_day_occupancy на закоммиченных данных: rebuild работает
+ * в собственных транзакциях из пула потоков и видит только их.
+ */
+@DataJpaTest(properties = "booking.occupancy-ledger.chunk-size=1")
+@Import({OccupancyLedger.class, BookingStatusService.class, RoomCalendarIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OccupancyLedgerTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyLedgerTest.class);
+
+    @Autowired
+    private OccupancyLedger occupancyLedger;
+
+    @Autowired
+    private BookingStatusService bookingStatusService;
+
+    @Autowired
+    private HotelOwnerRepository hotelOwnerRepository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Hotel hotel;
+    private RoomType standard;
+    private Booking cancellable;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for OccupancyLedgerTest");
+        // Кэш второго уровня общий для JVM, а база у каждого тестового контекста своя: комната с тем же id
+        // из другого контекста подменила бы тип комнаты в OccupancyLedger
+        entityManagerFactory.getCache().evictAll();
+
+        HotelOwner owner = new HotelOwner();
+        owner.setName("John Smith");
+        owner = hotelOwnerRepository.save(owner);
+
+        hotel = new Hotel();
+        hotel.setName("Grand Paradise Hotel");
+        hotel.setOwner(owner);
+        hotel = hotelRepository.save(hotel);
+
+        standard = roomType("Standard");
+        RoomType deluxe = roomType("Deluxe");
+        Room standard1 = room(standard, "ST-001");
+        Room standard2 = room(standard, "ST-002");
+        Room deluxe1 = room(deluxe, "DL-001");
+
+        List<Booking> bookings = bookingRepository.saveAll(List.of(
+                booking(standard1, "2025-08-01", "2025-08-04", Booking.Status.CONFIRMED),
+                booking(standard2, "2025-08-02", "2025-08-03", Booking.Status.CREATED),
+                booking(deluxe1, "2025-08-03", "2025-08-05", Booking.Status.CONFIRMED)));
+        cancellable = bookings.get(1);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> occupancyLedger.apply(bookings, 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from room_type_day_occupancy");
+        jdbcTemplate.update("delete from booking");
+        jdbcTemplate.update("delete from room");
+        jdbcTemplate.update("delete from room_type");
+        jdbcTemplate.update("delete from hotel");
+        jdbcTemplate.update("delete from hotel_owner");
+    }
+
+    @Test
+    void apply_ShouldIncrementNightsAndCancelShouldReleaseThem() {
+        // Then
+        assertEquals(List.of(1, 2, 1), occupied(standard, "2025-08-01", "2025-08-04"));
+        assertTrue(occupancyLedger.check().isEmpty());
+
+        // When
+        bookingStatusService.changeStatus(cancellable.getId(), Booking.Status.CANCELLED);
+
+        // Then
+        assertEquals(List.of(1, 1, 1), occupied(standard, "2025-08-01", "2025-08-04"));
+        assertTrue(occupancyLedger.check().isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldRepairRowsReportedByCheck() {
+        // Given
+        jdbcTemplate.update("update room_type_day_occupancy set occupied = 5 where room_type_id = ? and stay_date = ?",
+                standard.getId(), Date.valueOf("2025-08-02"));
+        jdbcTemplate.update("insert into room_type_day_occupancy (room_type_id, stay_date, occupied) values (?, ?, 1)",
+                standard.getId(), Date.valueOf("2025-08-10"));
+
+        // When
+        List<OccupancyLedger.Mismatch> mismatches = occupancyLedger.check();
+
+        // Then
+        assertEquals(2, mismatches.size());
+        assertTrue(mismatches.contains(new OccupancyLedger.Mismatch(standard.getId(), LocalDate.parse("2025-08-02"), 2, 5)));
+        assertTrue(mismatches.contains(new OccupancyLedger.Mismatch(standard.getId(), LocalDate.parse("2025-08-10"), 0, 1)));
+
+        // When
+        int rows = occupancyLedger.rebuild();
+
+        // Then
+        assertEquals(5, rows);
+        assertEquals(List.of(1, 2, 1), occupied(standard, "2025-08-01", "2025-08-04"));
+        assertTrue(occupancyLedger.check().isEmpty());
+    }
+
+    @Test
+    void rebuild_WhenApplyCommitsConcurrently_ShouldKeepItsNights() throws Exception {
+        // Given
+        // Бронь создана и учтена в занятости (MERGE обновил существующие строки ночей), но транзакция еще не закоммичена
+        Room room = roomRepository.findByRoomTypeId(standard.getId()).get(0);
+        CountDownLatch applied = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> booking = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Booking saved = bookingRepository.save(booking(room, "2025-08-02", "2025-08-04", Booking.Status.CONFIRMED));
+                occupancyLedger.apply(List.of(saved), 1);
+                applied.countDown();
+                await(release);
+            }));
+            assertTrue(applied.await(10, TimeUnit.SECONDS));
+
+            // When
+            // Пересчет начинается до коммита брони; без замков он удалил бы ее строки и записал занятость без нее
+            Future<Integer> rebuild = executor.submit(() -> occupancyLedger.rebuild());
+            Thread.sleep(300);
+            release.countDown();
+            booking.get(10, TimeUnit.SECONDS);
+            rebuild.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(List.of(1, 3, 2), occupied(standard, "2025-08-01", "2025-08-04"));
+        assertTrue(occupancyLedger.check().isEmpty());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<Integer> occupied(RoomType roomType, String from, String to) {
+        return jdbcTemplate.queryForList(
+                "select occupied from room_type_day_occupancy where room_type_id = ? " +
+                "and stay_date >= ? and stay_date < ? order by stay_date",
+                Integer.class, roomType.getId(), Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private RoomType roomType(String name) {
+        RoomType roomType = new RoomType();
+        roomType.setName(name);
+        roomType.setCapacity(2);
+        roomType.setHotel(hotel);
+        return roomTypeRepository.save(roomType);
+    }
+
+    private Room room(RoomType roomType, String number) {
+        Room room = new Room();
+        room.setRoomNumber(number);
+        room.setRoomType(roomType);
+        room.setHotel(hotel);
+        return roomRepository.save(room);
+    }
+
+    private Booking booking(Room room, String checkIn, String checkOut, Booking.Status status) {
+        Booking booking = new Booking();
+        booking.setRoom(room);
+        booking.setCheckInDate(LocalDate.parse(checkIn));
+        booking.setCheckOutDate(LocalDate.parse(checkOut));
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,176 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.dto.OccupancyDto;
+import com.github.lukashindy.booking.dto.OccupancyDto.Granularity;
+import com.github.lukashindy.booking.dto.OccupancyPeriodDto;
+import com.github.lukashindy.booking.dto.RoomTypeOccupancyDto;
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Hotel;
+import com.github.lukashindy.booking.model.HotelOwner;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.model.RoomType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({OccupancyService.class, OccupancyLedger.class})
+class OccupancyServiceTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyServiceTest.class);
+
+    // 2025-08-01 — пятница, первая неделя диапазона неполная
+    private static final LocalDate FROM = LocalDate.parse("2025-08-01");
+    private static final LocalDate TO = LocalDate.parse("2025-08-08");
+
+    @Autowired
+    private OccupancyService occupancyService;
+
+    @Autowired
+    private OccupancyLedger occupancyLedger;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Hotel hotel;
+    private final List<Booking> activeBookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up test data for OccupancyServiceTest");
+        entityManagerFactory.getCache().evictAll();
+
+        HotelOwner owner = new HotelOwner();
+        owner.setName("John Smith");
+        entityManager.persist(owner);
+
+        hotel = new Hotel();
+        hotel.setName("Grand Paradise Hotel");
+        hotel.setOwner(owner);
+        entityManager.persist(hotel);
+
+        RoomType standard = roomType("Standard");
+        RoomType deluxe = roomType("Deluxe");
+        Room standard1 = room(standard, "ST-001");
+        Room standard2 = room(standard, "ST-002");
+        Room deluxe1 = room(deluxe, "DL-001");
+
+        // Началась до диапазона: занимает номер 1 и 2 августа
+        booking(standard1, "2025-07-30", "2025-08-03", Booking.Status.CONFIRMED);
+        booking(standard2, "2025-08-02", "2025-08-04", Booking.Status.CREATED);
+        // Заканчивается после диапазона: в расчёт идут 5, 6 и 7 августа
+        booking(deluxe1, "2025-08-05", "2025-08-12", Booking.Status.CONFIRMED);
+        booking(deluxe1, "2025-08-01", "2025-08-03", Booking.Status.CANCELLED);
+
+        entityManager.flush();
+        occupancyLedger.apply(activeBookings, 1);
+        entityManager.clear();
+    }
+
+    @Test
+    void getOccupancy_ByDay_ShouldCountOccupiedRoomsPerNight() {
+        // When
+        OccupancyDto occupancy = occupancyService.getOccupancy(hotel.getId(), FROM, TO, Granularity.DAY);
+
+        // Then
+        assertEquals(2, occupancy.getRoomTypes().size());
+        RoomTypeOccupancyDto standard = roomType(occupancy, "Standard");
+        assertEquals(2, standard.getRooms());
+        assertEquals(List.of(1L, 2L, 1L, 0L, 0L, 0L, 0L), occupied(standard));
+        assertEquals(0.5, standard.getPeriods().get(0).getRate());
+        assertEquals(1.0, standard.getPeriods().get(1).getRate());
+
+        RoomTypeOccupancyDto deluxe = roomType(occupancy, "Deluxe");
+        assertEquals(List.of(0L, 0L, 0L, 0L, 1L, 1L, 1L), occupied(deluxe));
+    }
+
+    @Test
+    void getOccupancy_ByWeek_ShouldSplitOnMondaysAndClipToRange() {
+        // When
+        OccupancyDto occupancy = occupancyService.getOccupancy(hotel.getId(), FROM, TO, Granularity.WEEK);
+
+        // Then
+        RoomTypeOccupancyDto standard = roomType(occupancy, "Standard");
+        assertEquals(2, standard.getPeriods().size());
+        OccupancyPeriodDto firstWeek = standard.getPeriods().get(0);
+        assertEquals(FROM, firstWeek.getStart());
+        assertEquals(LocalDate.parse("2025-08-04"), firstWeek.getEnd());
+        assertEquals(4, firstWeek.getOccupiedRoomNights());
+        assertEquals(6, firstWeek.getAvailableRoomNights());
+        OccupancyPeriodDto secondWeek = standard.getPeriods().get(1);
+        assertEquals(TO, secondWeek.getEnd());
+        assertEquals(0, secondWeek.getOccupiedRoomNights());
+        assertEquals(8, secondWeek.getAvailableRoomNights());
+
+        RoomTypeOccupancyDto deluxe = roomType(occupancy, "Deluxe");
+        assertEquals(0.75, deluxe.getPeriods().get(1).getRate());
+    }
+
+    @Test
+    void getOccupancy_ByMonth_ShouldReturnSinglePeriodForRangeWithinMonth() {
+        // When
+        OccupancyDto occupancy = occupancyService.getOccupancy(hotel.getId(), FROM, TO, Granularity.MONTH);
+
+        // Then
+        RoomTypeOccupancyDto standard = roomType(occupancy, "Standard");
+        assertEquals(1, standard.getPeriods().size());
+        assertEquals(4, standard.getPeriods().get(0).getOccupiedRoomNights());
+        assertEquals(14, standard.getPeriods().get(0).getAvailableRoomNights());
+    }
+
+    private RoomTypeOccupancyDto roomType(OccupancyDto occupancy, String name) {
+        return occupancy.getRoomTypes().stream()
+                .filter(roomType -> roomType.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private List<Long> occupied(RoomTypeOccupancyDto roomType) {
+        return roomType.getPeriods().stream().map(OccupancyPeriodDto::getOccupiedRoomNights).toList();
+    }
+
+    private RoomType roomType(String name) {
+        RoomType roomType = new RoomType();
+        roomType.setName(name);
+        roomType.setCapacity(2);
+        roomType.setHotel(hotel);
+        entityManager.persist(roomType);
+        return roomType;
+    }
+
+    private Room room(RoomType roomType, String number) {
+        Room room = new Room();
+        room.setRoomNumber(number);
+        room.setRoomType(roomType);
+        room.setHotel(hotel);
+        entityManager.persist(room);
+        return room;
+    }
+
+    private void booking(Room room, String checkIn, String checkOut, Booking.Status status) {
+        Booking booking = new Booking();
+        booking.setRoom(room);
+        booking.setCheckInDate(LocalDate.parse(checkIn));
+        booking.setCheckOutDate(LocalDate.parse(checkOut));
+        booking.setStatus(status);
+        entityManager.persist(booking);
+        if (status != Booking.Status.CANCELLED) {
+            activeBookings.add(booking);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.github.lukashindy.booking.service;
+
+import com.github.lukashindy.booking.model.Booking;
+import com.github.lukashindy.booking.model.Room;
+import com.github.lukashindy.booking.repository.BookingRepository;
+import com.github.lukashindy.booking.repository.RoomStay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomCalendarIndexTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomCalendarIndexTest.class);
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 8, 1);
+    private static final LocalDate WINDOW_END = TODAY.plusDays(RoomCalendarIndex.WINDOW_NIGHTS);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @InjectMocks
+    private RoomCalendarIndex roomCalendarIndex;
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up RoomCalendarIndexTest");
+        setToday(TODAY);
+        when(bookingRepository.findActiveStaysBetween(TODAY, WINDOW_END)).thenReturn(List.of(
+                new RoomStay(1L, TODAY.minusDays(2), TODAY.plusDays(3)),
+                new RoomStay(2L, TODAY.plusDays(60), TODAY.plusDays(130)),
+                new RoomStay(3L, WINDOW_END.minusDays(1), WINDOW_END.plusDays(30))));
+        roomCalendarIndex.rebuild();
+    }
+
+    @Test
+    void rebuild_ShouldMarkNightsOfActiveBookingsWithinWindow() {
+        // Then
+        assertFalse(roomCalendarIndex.isFree(1L, TODAY, TODAY.plusDays(1)));
+        assertTrue(roomCalendarIndex.isFree(1L, TODAY.plusDays(3), TODAY.plusDays(10)));
+        // Бронь длиннее слова (64 ночи) занимает несколько слов подряд
+        assertFalse(roomCalendarIndex.isFree(2L, TODAY.plusDays(129), TODAY.plusDays(140)));
+        assertTrue(roomCalendarIndex.isFree(2L, TODAY.plusDays(130), TODAY.plusDays(200)));
+        assertFalse(roomCalendarIndex.isFree(3L, WINDOW_END.minusDays(1), WINDOW_END));
+        // Комнаты без броней в календаре не занимают места и свободны
+        assertTrue(roomCalendarIndex.isFree(1000L, TODAY, WINDOW_END));
+
+        assertEquals(List.of(2L, 1000L), roomCalendarIndex.findFree(List.of(1L, 2L, 1000L), TODAY, TODAY.plusDays(5)));
+        assertTrue(roomCalendarIndex.covers(TODAY, WINDOW_END));
+        assertFalse(roomCalendarIndex.covers(TODAY.minusDays(1), TODAY.plusDays(1)));
+        assertFalse(roomCalendarIndex.covers(TODAY, WINDOW_END.plusDays(1)));
+    }
+
+    @Test
+    void apply_OutsideTransaction_ShouldBookAndReleaseNights() {
+        // Given
+        Booking booking = booking(4L, TODAY.plusDays(10), TODAY.plusDays(12));
+
+        // When
+        roomCalendarIndex.apply(List.of(booking), true);
+
+        // Then
+        assertFalse(roomCalendarIndex.isFree(4L, TODAY.plusDays(11), TODAY.plusDays(12)));
+        assertTrue(roomCalendarIndex.isFree(4L, TODAY.plusDays(12), TODAY.plusDays(20)));
+
+        // When
+        roomCalendarIndex.apply(List.of(booking), false);
+
+        // Then
+        assertTrue(roomCalendarIndex.isFree(4L, TODAY, WINDOW_END));
+    }
+
+    @Test
+    void covers_AfterDayChange_ShouldMoveWindowAndLoadNewNights() {
+        // Given
+        LocalDate tomorrow = TODAY.plusDays(1);
+        when(bookingRepository.findActiveStaysBetween(WINDOW_END, WINDOW_END.plusDays(1)))
+                .thenReturn(List.of(new RoomStay(3L, WINDOW_END.minusDays(1), WINDOW_END.plusDays(30))));
+        setToday(tomorrow);
+
+        // When
+        boolean covered = roomCalendarIndex.covers(tomorrow, WINDOW_END.plusDays(1));
+
+        // Then
+        assertTrue(covered);
+        assertFalse(roomCalendarIndex.isFree(3L, WINDOW_END, WINDOW_END.plusDays(1)));
+        // Позиция ушедшей ночи теперь принадлежит ночи через 768 дней и должна быть пустой
+        assertTrue(roomCalendarIndex.isFree(1L, TODAY.plusDays(768), TODAY.plusDays(769)));
+        assertFalse(roomCalendarIndex.isFree(1L, tomorrow, tomorrow.plusDays(1)));
+    }
+
+    private void setToday(LocalDate today) {
+        ReflectionTestUtils.setField(roomCalendarIndex, "clock",
+                Clock.fixed(today.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC));
+    }
+
+    private Booking booking(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Room room = new Room();
+        room.setId(roomId);
+        Booking booking = new Booking();
+        booking.setRoom(room);
+        booking.setCheckInDate(checkIn);
+        booking.setCheckOutDate(checkOut);
+        return booking;
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.lukashindy.booking.web;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(AccessLogFilterTest.class);
+
+    private final AccessLogFilter filter = new AccessLogFilter();
+    private final Logger filterLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        logger.info("Setting up AccessLogFilterTest");
+        ReflectionTestUtils.setField(filter, "slowThresholdMs", 500L);
+        appender.start();
+        filterLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        filterLogger.detachAppender(appender);
+    }
+
+    @Test
+    void doFilter_WithFullSampling_ShouldLogRequestWithKeyValues() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(filter, "sampleRate", 1.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/rooms/hotel/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, new MockFilterChain());
+
+        // Then
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.get(0);
+        assertTrue(event.getFormattedMessage().startsWith("GET /api/v1/rooms/hotel/1 200"));
+        assertTrue(event.getKeyValuePairs().stream().anyMatch(kv -> kv.key.equals("status") && kv.value.equals(200)));
+    }
+
+    @Test
+    void doFilter_WithSamplingDisabled_ShouldLogOnlyServerErrors() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(filter, "sampleRate", 0.0);
+        MockHttpServletResponse ok = new MockHttpServletResponse();
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        failed.setStatus(500);
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/hotels"), ok, new MockFilterChain());
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/hotels/1"), failed, new MockFilterChain());
+
+        // Then
+        assertEquals(1, appender.list.size());
+        assertTrue(appender.list.get(0).getFormattedMessage().startsWith("GET /api/v1/hotels/1 500"));
+    }
+}